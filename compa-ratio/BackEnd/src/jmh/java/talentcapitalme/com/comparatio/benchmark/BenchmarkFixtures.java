@@ -0,0 +1,303 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import ch.qos.logback.classic.Level;
+import org.dhatim.fastexcel.Workbook;
+import org.dhatim.fastexcel.Worksheet;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.config.CustomUserDetails;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+import talentcapitalme.com.comparatio.dto.CalcRequest;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+import talentcapitalme.com.comparatio.service.BatchContext;
+import talentcapitalme.com.comparatio.service.ClientStatsService;
+import talentcapitalme.com.comparatio.service.DashboardService;
+import talentcapitalme.com.comparatio.service.ExcelProcessingService;
+import talentcapitalme.com.comparatio.service.MatrixIndex;
+import talentcapitalme.com.comparatio.service.MatrixIndexService;
+import talentcapitalme.com.comparatio.service.PerformanceRatingService;
+import talentcapitalme.com.comparatio.service.ResultStatistics;
+import talentcapitalme.com.comparatio.service.UserStatusService;
+import talentcapitalme.com.comparatio.util.ExcelRowReader;
+import talentcapitalme.com.comparatio.util.FixedPointMoney;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Reproducible, in-memory fixtures for the benchmarks. Every generator takes a seed, so a given
+ * row count always produces the same data; nothing touches MongoDB or a Spring context.
+ */
+final class BenchmarkFixtures {
+
+    static final String CLIENT_ID = "bench-client";
+    static final long SEED = 20240601L;
+
+    private static final String[] JOB_TITLES = {"Software Engineer", "Accountant", "HR Specialist",
+            "Sales Manager", "Data Analyst", "Operations Lead", "Designer", "Support Engineer"};
+
+    static {
+        // Logback defaults to DEBUG without a configuration file; keep per-row debug logging out of the numbers
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Authenticate every thread as the benchmark CLIENT_ADMIN
+     */
+    static void authenticateClientAdmin() {
+        User user = new User();
+        user.setId(CLIENT_ID);
+        user.setEmail("bench@example.com");
+        user.setName("Benchmark Client");
+        user.setRole(UserRole.CLIENT_ADMIN);
+        user.setActive(true);
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_CLIENT_ADMIN"));
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new CustomUserDetails(user, authorities), null, authorities));
+    }
+
+    /**
+     * The default matrix seeded for new clients
+     */
+    static List<AdjustmentMatrix> defaultMatrix() {
+        List<AdjustmentMatrix> cells = new ArrayList<>();
+        double[][] rows = {
+                {3, 0.00, 0.70, 21, 25}, {3, 0.71, 0.85, 17, 21}, {3, 0.86, 1.01, 12, 17},
+                {3, 1.01, 1.15, 8, 12}, {3, 1.16, 1.30, 6, 8}, {3, 1.30, 9.99, 0, 0},
+                {2, 0.00, 0.70, 15, 17}, {2, 0.71, 0.85, 12, 17}, {2, 0.86, 1.01, 8, 12},
+                {2, 1.01, 1.15, 6, 8}, {2, 1.16, 1.30, 4, 6}, {2, 1.30, 9.99, 0, 0},
+                {1, 0.00, 0.70, 8, 12}, {1, 0.71, 0.85, 6, 8}, {1, 0.86, 1.01, 4, 6},
+                {1, 1.01, 1.15, 0, 4}, {1, 1.16, 1.30, 0, 0}, {1, 1.30, 9.99, 0, 0},
+        };
+        for (double[] r : rows) {
+            cells.add(AdjustmentMatrix.builder()
+                    .id(CLIENT_ID + "_m_" + (int) r[0] + "_" + r[1] + "_" + r[2])
+                    .clientId(CLIENT_ID)
+                    .perfBucket((int) r[0])
+                    .compaFrom(BigDecimal.valueOf(r[1]))
+                    .compaTo(BigDecimal.valueOf(r[2]))
+                    .pctLt5Years(BigDecimal.valueOf(r[3]))
+                    .pctGte5Years(BigDecimal.valueOf(r[4]))
+                    .active(true)
+                    .build());
+        }
+        return cells;
+    }
+
+    static MatrixIndex matrixIndex() {
+        return MatrixIndex.build(CLIENT_ID, defaultMatrix());
+    }
+
+    /**
+     * Matrix index service serving a prebuilt index, as the cache does after the first lookup
+     */
+    static MatrixIndexService matrixIndexService(MatrixIndex index) {
+        return new MatrixIndexService(null) {
+            @Override
+            public MatrixIndex getIndex(String clientId) {
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Rating service with the user's scale fixed to five points
+     */
+    static PerformanceRatingService performanceRatingService() {
+        return new PerformanceRatingService() {
+            @Override
+            public PerformanceRatingScale getUserPerformanceRatingScale() {
+                return PerformanceRatingScale.FIVE_POINT;
+            }
+        };
+    }
+
+    /**
+     * Excel service that parses and evaluates workbooks in memory; upload history and persistence are not wired
+     */
+    static ExcelProcessingService excelProcessingService(MatrixIndex index, ExecutorService bulkRowExecutor,
+                                                         AppProperties appProperties) {
+        return new ExcelProcessingService(null, null, performanceRatingService(), new ExcelRowReader(appProperties),
+                matrixIndexService(index), bulkRowExecutor, appProperties, null, null, null);
+    }
+
+    /**
+     * Excel service that only writes result workbooks
+     */
+    static ExcelProcessingService resultWorkbookService() {
+        return new ExcelProcessingService(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Statistics service serving a precomputed rollup for every client, as the stored rollup does
+     */
+    static ClientStatsService clientStatsService(ResultStatistics rollup) {
+        return new ClientStatsService(null, null, null) {
+            @Override
+            public ResultStatistics getActiveStatistics(String clientId) {
+                return rollup;
+            }
+        };
+    }
+
+    /**
+     * Dashboard service reading client statistics from the given rollup service only
+     */
+    static DashboardService dashboardService(ClientStatsService clientStatsService) {
+        return new DashboardService(null, null, null, clientStatsService, null, null, null);
+    }
+
+    /**
+     * User status service reporting every user as an active five-point USD account, as the cache does after
+     * the first lookup
+     */
+    static UserStatusService activeUserStatusService() {
+        return new UserStatusService(null, appProperties()) {
+            @Override
+            public Optional<UserStatus> getEnabledStatus(String userId, UserRole role) {
+                return Optional.of(new UserStatus(role, true, PerformanceRatingScale.FIVE_POINT, Currency.USD));
+            }
+        };
+    }
+
+    static BatchContext batchContext(MatrixIndex index) {
+        return new BatchContext(CLIENT_ID, "Benchmark Client", CLIENT_ID, "bench@example.com",
+                PerformanceRatingScale.FIVE_POINT, Currency.USD, index);
+    }
+
+    static AppProperties appProperties() {
+        return new AppProperties();
+    }
+
+    static List<CalcRequest> calcRequests(int count, long seed) {
+        Random random = new Random(seed);
+        List<CalcRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee e = employee(random, i);
+            requests.add(new CalcRequest(e.salary, e.mid, e.years, e.rating, e.code, e.name, e.jobTitle, null));
+        }
+        return requests;
+    }
+
+    /**
+     * Upload workbook in the template layout with the given number of data rows
+     */
+    static byte[] workbook(int rows, long seed) throws IOException {
+        Random random = new Random(seed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Workbook workbook = new Workbook(out, "Comparatio", "1.0");
+        Worksheet sheet = workbook.newWorksheet("Employees");
+        String[] headers = {"Employee Code", "Employee Name", "Job Title", "Years of Experience",
+                "Performance Rating", "Current Salary", "Mid of Scale"};
+        for (int c = 0; c < headers.length; c++) {
+            sheet.value(0, c, headers[c]);
+        }
+        for (int i = 0; i < rows; i++) {
+            Employee e = employee(random, i);
+            int r = i + 1;
+            sheet.value(r, 0, e.code);
+            sheet.value(r, 1, e.name);
+            sheet.value(r, 2, e.jobTitle);
+            sheet.value(r, 3, e.years);
+            sheet.value(r, 4, e.rating);
+            sheet.value(r, 5, e.salary);
+            sheet.value(r, 6, e.mid);
+            if (r % 1000 == 0) {
+                sheet.flush();
+            }
+        }
+        workbook.finish();
+        return out.toByteArray();
+    }
+
+    /**
+     * Evaluated rows, as produced by a bulk upload
+     */
+    static List<BulkRowResult> bulkRowResults(int rows, long seed) {
+        Random random = new Random(seed);
+        List<BulkRowResult> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Employee e = employee(random, i);
+            BigDecimal pct = BigDecimal.valueOf(random.nextInt(26));
+            BigDecimal newSalary = FixedPointMoney.newSalary(e.salary, pct);
+            BigDecimal compa = FixedPointMoney.compaPercent(e.salary, e.mid);
+            results.add(BulkRowResult.builder()
+                    .rowIndex(i + 1)
+                    .employeeCode(e.code)
+                    .employeeName(e.name)
+                    .jobTitle(e.jobTitle)
+                    .yearsExperience(e.years)
+                    .performanceRating5(e.rating)
+                    .currentSalary(e.salary)
+                    .midOfScale(e.mid)
+                    .compaRatio(compa)
+                    .compaLabel(ExcelProcessingService.compaLabel(compa))
+                    .increasePct(pct)
+                    .newSalary(newSalary)
+                    .increaseAmount(newSalary.subtract(e.salary))
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Stored calculation results of one batch
+     */
+    static List<CalculationResult> calculationResults(int rows, long seed) {
+        Random random = new Random(seed);
+        List<CalculationResult> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Employee e = employee(random, i);
+            BigDecimal pct = BigDecimal.valueOf(random.nextInt(26));
+            BigDecimal compa = FixedPointMoney.compaPercent(e.salary, e.mid);
+            results.add(CalculationResult.builder()
+                    .id("r" + i)
+                    .clientId(CLIENT_ID)
+                    .batchId("bench-batch")
+                    .employeeCode(e.code)
+                    .employeeName(e.name)
+                    .jobTitle(e.jobTitle)
+                    .yearsExperience(e.years)
+                    .perfBucket(1 + random.nextInt(3))
+                    .currentSalary(e.salary)
+                    .midOfScale(e.mid)
+                    .compaRatio(compa)
+                    .compaLabel(ExcelProcessingService.compaLabel(compa))
+                    .increasePct(pct)
+                    .newSalary(FixedPointMoney.newSalary(e.salary, pct))
+                    .build());
+        }
+        return results;
+    }
+
+    private static Employee employee(Random random, int i) {
+        BigDecimal salary = BigDecimal.valueOf(3_000_000 + random.nextInt(22_000_000), 2); // 30,000.00 - 250,000.00
+        BigDecimal mid = salary.multiply(BigDecimal.valueOf(60 + random.nextInt(90), 2))
+                .setScale(0, RoundingMode.HALF_UP);                                    // compa 0.67 - 1.67
+        return new Employee(String.format("EMP%06d", i), "Employee " + i,
+                JOB_TITLES[random.nextInt(JOB_TITLES.length)], random.nextInt(21), 1 + random.nextInt(5), salary, mid);
+    }
+
+    private record Employee(String code, String name, String jobTitle, int years, int rating,
+                            BigDecimal salary, BigDecimal mid) {
+    }
+}
@@ -0,0 +1,73 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+import talentcapitalme.com.comparatio.service.BatchContext;
+import talentcapitalme.com.comparatio.service.ExcelProcessingService;
+import talentcapitalme.com.comparatio.service.MatrixIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk upload parse + evaluate over generated workbooks, without persistence.
+ * The parser engine is a parameter rather than picked from the workbook size, so every row count compares
+ * like with like; production streams every .xlsx upload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(value = 3, jvmArgsAppend = "-Xmx2g")
+public class BulkUploadBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    @Param({"streaming", "poi"})
+    public String parser;
+
+    private byte[] workbook;
+    private ExecutorService bulkRowExecutor;
+    private ExcelProcessingService service;
+    private BatchContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workbook = BenchmarkFixtures.workbook(rows, BenchmarkFixtures.SEED);
+        AppProperties appProperties = BenchmarkFixtures.appProperties();
+        appProperties.getFileUpload().setStreamingParseThreshold("poi".equals(parser) ? -1 : 0);
+        bulkRowExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        MatrixIndex index = BenchmarkFixtures.matrixIndex();
+        context = BenchmarkFixtures.batchContext(index);
+        service = BenchmarkFixtures.excelProcessingService(index, bulkRowExecutor, appProperties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bulkRowExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<BulkRowResult> parseAndEvaluate() throws IOException {
+        return service.evaluateWorkbook(new ByteArrayInputStream(workbook), "employees.xlsx", workbook.length, context);
+    }
+}
@@ -0,0 +1,69 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import talentcapitalme.com.comparatio.dto.CalcRequest;
+import talentcapitalme.com.comparatio.dto.CalcResponse;
+import talentcapitalme.com.comparatio.exception.MatrixNotFoundException;
+import talentcapitalme.com.comparatio.service.CompensationService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Individual calculation: {@code CompensationService.calculate} against the default matrix held in memory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class CompensationBenchmark {
+
+    private static final int REQUESTS = 4096; // power of two, cycled with a mask
+
+    private CompensationService service;
+    private CalcRequest[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.authenticateClientAdmin();
+        service = new CompensationService(
+                BenchmarkFixtures.matrixIndexService(BenchmarkFixtures.matrixIndex()),
+                BenchmarkFixtures.performanceRatingService());
+        // The default matrix has gaps between ranges (e.g. 0.70-0.71); keep only requests that hit a cell
+        List<CalcRequest> generated = BenchmarkFixtures.calcRequests(REQUESTS * 2, BenchmarkFixtures.SEED);
+        requests = generated.stream()
+                .filter(this::matchesCell)
+                .limit(REQUESTS)
+                .toArray(CalcRequest[]::new);
+        if (requests.length < REQUESTS) {
+            throw new IllegalStateException("Only " + requests.length + " generated requests match a matrix cell");
+        }
+    }
+
+    private boolean matchesCell(CalcRequest request) {
+        try {
+            service.calculate(request);
+            return true;
+        } catch (MatrixNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public CalcResponse calculate() {
+        return service.calculate(requests[next++ & (REQUESTS - 1)]);
+    }
+}
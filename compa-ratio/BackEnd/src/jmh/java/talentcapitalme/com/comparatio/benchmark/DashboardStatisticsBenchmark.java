@@ -0,0 +1,58 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import talentcapitalme.com.comparatio.dto.ClientDashboardStatistics;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.service.DashboardService;
+import talentcapitalme.com.comparatio.service.ResultStatistics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client dashboard statistics over a synthetic active batch: {@code DashboardService.getClientDashboardStatistics}
+ * served from a precomputed client_stats rollup, against summarizing the batch in memory as the fallback does.
+ * Without a MongoDB server neither measures the rollup read or the server-side aggregation themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class DashboardStatisticsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private List<CalculationResult> results;
+    private DashboardService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = BenchmarkFixtures.calculationResults(rows, BenchmarkFixtures.SEED);
+        service = BenchmarkFixtures.dashboardService(
+                BenchmarkFixtures.clientStatsService(ResultStatistics.of(results)));
+    }
+
+    @Benchmark
+    public ClientDashboardStatistics clientDashboardStatistics() {
+        return service.getClientDashboardStatistics(BenchmarkFixtures.CLIENT_ID);
+    }
+
+    @Benchmark
+    public ResultStatistics inMemorySummary() {
+        return ResultStatistics.of(results);
+    }
+}
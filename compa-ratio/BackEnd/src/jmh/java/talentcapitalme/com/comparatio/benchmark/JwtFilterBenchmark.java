@@ -0,0 +1,115 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.config.CustomUserDetails;
+import talentcapitalme.com.comparatio.config.JwtFilter;
+import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+import talentcapitalme.com.comparatio.service.JWTService;
+import talentcapitalme.com.comparatio.service.JwtVerifier;
+import talentcapitalme.com.comparatio.service.UserStatusService;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication of one request carrying a bearer token.
+ *
+ * {@code legacyTripleParse} reproduces the token handling the filter used to do: extractUsername, then
+ * validateToken parsing the token twice more, each pass rebuilding the key and parser from the secret.
+ * The filter benchmarks run {@link JwtFilter} end to end with a single verification, without and with the
+ * verified token cache. The user status lookup is stubbed, as the cache serves it after the first request;
+ * the per-request user read by email the filter used to do is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final String PATH = "/api/calc/single";
+
+    private String token;
+    private JwtFilter uncachedFilter;
+    private JwtFilter cachedFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setId(BenchmarkFixtures.CLIENT_ID);
+        user.setEmail("bench@example.com");
+        user.setRole(UserRole.CLIENT_ADMIN);
+        user.setActive(true);
+        CustomUserDetails userDetails = new CustomUserDetails(user,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENT_ADMIN")));
+        token = new JWTService(verifier(1000)).generateToken(userDetails);
+
+        UserStatusService userStatus = BenchmarkFixtures.activeUserStatusService();
+        uncachedFilter = new JwtFilter(verifier(0), userStatus);
+        cachedFilter = new JwtFilter(verifier(1000), userStatus);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyParse().getSubject();
+        return username.equals(legacyParse().getSubject()) && !legacyParse().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Authentication filterSingleParse() throws ServletException, IOException {
+        return authenticate(uncachedFilter);
+    }
+
+    @Benchmark
+    public Authentication filterCachedVerification() throws ServletException, IOException {
+        return authenticate(cachedFilter);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private Authentication authenticate(JwtFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static JwtVerifier verifier(int cacheSize) {
+        AppProperties properties = new AppProperties();
+        properties.getJwt().setVerifiedTokenCacheSize(cacheSize);
+        return new JwtVerifier(SECRET, properties);
+    }
+}
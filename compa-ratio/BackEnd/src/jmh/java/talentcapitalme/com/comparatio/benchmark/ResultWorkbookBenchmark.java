@@ -0,0 +1,49 @@
+package talentcapitalme.com.comparatio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+import talentcapitalme.com.comparatio.service.ExcelProcessingService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result workbook rendering: {@code ExcelProcessingService.generateEnhancedExcel}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(value = 3, jvmArgsAppend = "-Xmx2g")
+public class ResultWorkbookBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private List<BulkRowResult> results;
+    private ExcelProcessingService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = BenchmarkFixtures.bulkRowResults(rows, BenchmarkFixtures.SEED);
+        service = BenchmarkFixtures.resultWorkbookService();
+    }
+
+    @Benchmark
+    public byte[] generateEnhancedExcel() throws IOException {
+        return service.generateEnhancedExcel(results, "bench-batch");
+    }
+}
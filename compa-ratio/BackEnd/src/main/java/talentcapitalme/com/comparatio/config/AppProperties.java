@@ -1,9 +1,14 @@
 package talentcapitalme.com.comparatio.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Application configuration properties
  * Centralizes all application configuration in one place for better maintainability
@@ -38,6 +43,21 @@ public class AppProperties {
      */
     private Monitoring monitoring = new Monitoring();
 
+    /**
+     * Bulk upload processing configuration
+     */
+    private Bulk bulk = new Bulk();
+
+    /**
+     * Spring caches by name; entries in application.yml override these defaults
+     */
+    private Map<String, CacheSpec> caches = defaultCaches();
+
+    /**
+     * Invalidation of cached matrices and users across nodes
+     */
+    private CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
     @Data
     public static class Jwt {
         private String secret = "mySecretKey";
@@ -45,6 +65,7 @@ public class AppProperties {
         private long refreshExpiration = 604800000; // 7 days in milliseconds
         private String issuer = "Comparatio";
         private String audience = "Comparatio-Users";
+        private int verifiedTokenCacheSize = 1000; // recently verified tokens kept until they expire, 0 disables
     }
 
     @Data
@@ -54,6 +75,7 @@ public class AppProperties {
         private String clientFilesPath = "uploads/clients";
         private long maxFileSize = 52428800; // 50MB
         private long maxImageSize = 5242880; // 5MB
+        private long streamingParseThreshold = 0; // .xlsx uploads at or above this size are streamed; 0 streams all, -1 disables
         private String[] allowedExcelExtensions = {".xlsx", ".xls"};
         private String[] allowedImageExtensions = {".jpg", ".jpeg", ".png", ".gif", ".bmp"};
     }
@@ -76,6 +98,8 @@ public class AppProperties {
         private boolean enableCsrf = false;
         private int maxLoginAttempts = 5;
         private int lockoutDuration = 300; // 5 minutes
+        private long userStatusTtlMs = 60000; // how long an authenticated user's role and active flag are reused
+        private int userStatusCacheSize = 10000; // users whose status is kept in memory
     }
 
     @Data
@@ -87,6 +111,53 @@ public class AppProperties {
         private int maxLogEntries = 10000;
     }
 
+    @Data
+    public static class Bulk {
+        private int workerThreads = 0; // 0 = one worker per available processor
+        private int chunkSize = 1000; // rows handed to a worker at a time
+        private int workerQueueCapacity = 0; // chunks waiting for a worker before the parser evaluates them itself, 0 = two per worker
+        private int jobThreads = 2; // asynchronous bulk jobs running at the same time
+        private int jobQueueCapacity = 20; // queued asynchronous bulk jobs before new ones are rejected
+        private int persistChunkSize = 1000; // calculation results per bulk insert
+        private int persistThreads = 4; // batches that can be inserting results at the same time
+        private long reclaimIntervalMs = 60000; // delay between runs of the retired batch reclaimer
+        private long reclaimGraceMs = 600000; // how long a retired batch stays readable before it is deleted
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheSpec {
+        private long maximumSize = 1000; // entries kept before the least recently used are evicted
+        private long ttlMs = 600000; // 10 minutes after being written
+    }
+
+    @Data
+    public static class CacheInvalidation {
+        private Mode mode = Mode.AUTO; // every node of a deployment must use the same mode
+        private long pollIntervalMs = 2000; // delay between polls of the version counters
+        private long pollLagMs = 10000; // how far back each poll looks, to catch writes committed out of order
+        private long streamRetryMs = 5000; // delay before reopening a failed change stream
+
+        public enum Mode {
+            AUTO,          // change streams when the server supports them (replica set), polling otherwise
+            CHANGE_STREAM,
+            POLL,
+            OFF
+        }
+    }
+
+    private static Map<String, CacheSpec> defaultCaches() {
+        Map<String, CacheSpec> caches = new LinkedHashMap<>();
+        caches.put("matrices", new CacheSpec(1000, 600000));
+        caches.put("matrixIndexes", new CacheSpec(1000, 600000));
+        caches.put("users", new CacheSpec(10000, 300000));
+        caches.put("templates", new CacheSpec(10, 86400000));
+        caches.put("dashboardStats", new CacheSpec(1, 30000));
+        caches.put("batchCounts", new CacheSpec(10000, 3600000));
+        return caches;
+    }
+
     /**
      * Get full file path for profile images
      */
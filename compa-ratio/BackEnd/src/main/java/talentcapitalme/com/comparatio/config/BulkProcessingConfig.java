@@ -0,0 +1,87 @@
+package talentcapitalme.com.comparatio.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools used by bulk upload processing
+ */
+@Slf4j
+@Configuration
+public class BulkProcessingConfig {
+
+    /**
+     * Bounded pool that validates and calculates parsed upload rows.
+     * Row evaluation is CPU bound, so the pool defaults to one thread per available core.
+     * When app.bulk.workerQueueCapacity chunks are waiting, the parsing thread evaluates the next chunk itself,
+     * so parsing never runs more than a few chunks ahead of evaluation.
+     */
+    @Bean(name = "bulkRowExecutor", destroyMethod = "shutdown")
+    public ExecutorService bulkRowExecutor(AppProperties appProperties) {
+        AppProperties.Bulk bulk = appProperties.getBulk();
+        int workers = bulk.getWorkerThreads() > 0 ? bulk.getWorkerThreads() : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = bulk.getWorkerQueueCapacity() > 0 ? bulk.getWorkerQueueCapacity() : 2 * workers;
+        log.info("Bulk row evaluation pool started with {} worker threads and a queue of {}", workers, queueCapacity);
+        return callerRunsPool(workers, queueCapacity, "bulk-row-");
+    }
+
+    /**
+     * Pool that runs asynchronous bulk jobs end to end.
+     * The queue is bounded so a burst of uploads is rejected instead of piling up temporary files.
+     */
+    @Bean(name = "bulkJobExecutor", destroyMethod = "shutdown")
+    public ExecutorService bulkJobExecutor(AppProperties appProperties) {
+        AppProperties.Bulk bulk = appProperties.getBulk();
+        int workers = Math.max(1, bulk.getJobThreads());
+        log.info("Bulk job pool started with {} threads and a queue of {}", workers, bulk.getJobQueueCapacity());
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(bulk.getJobQueueCapacity()), namedDaemonThreads("bulk-job-"));
+    }
+
+    /**
+     * Pool that sends chunked calculation result inserts to MongoDB.
+     * Each batch keeps at most one chunk in flight, so the pool size caps concurrent batches being persisted;
+     * beyond one waiting chunk per thread, the batch inserts its chunk on its own thread.
+     */
+    @Bean(name = "bulkPersistExecutor", destroyMethod = "shutdown")
+    public ExecutorService bulkPersistExecutor(AppProperties appProperties) {
+        int workers = Math.max(1, appProperties.getBulk().getPersistThreads());
+        log.info("Bulk persist pool started with {} threads", workers);
+        return callerRunsPool(workers, workers, "bulk-persist-");
+    }
+
+    /**
+     * Fixed pool with a bounded queue that runs tasks on the submitting thread once the queue is full.
+     * Unlike CallerRunsPolicy, tasks submitted after shutdown are rejected rather than silently dropped,
+     * so nobody waits forever on their futures.
+     */
+    private static ExecutorService callerRunsPool(int workers, int queueCapacity, String threadPrefix) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedDaemonThreads(threadPrefix),
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException(threadPrefix + "pool is shut down");
+                    }
+                    task.run();
+                });
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,30 +1,55 @@
 package talentcapitalme.com.comparatio.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Cache configuration for the application
- * Enables caching for frequently accessed data to improve performance
+ * One bounded Caffeine cache per entry of app.caches, each with its own maximum size and time to live.
+ * Entries are {@link VersionedCache} snapshots so invalidations from other nodes cannot be lost to a racing load.
+ * Statistics are recorded so Actuator publishes the cache.gets (hit/miss), cache.puts and cache.evictions meters.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Cache key of the authenticated user, for methods that read the current user's own data
+     */
+    public static final String CURRENT_USER_KEY = "T(talentcapitalme.com.comparatio.security.Authz).getCurrentUserId()";
+
     /**
      * Configure cache manager
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "matrices",           // Cache for adjustment matrices
-                "users",              // Cache for user data
-                "performanceScales",  // Cache for performance rating scales
-                "clientData",         // Cache for client-specific data
-                "templates"           // Cache for template data
-        );
+    public CacheManager cacheManager(AppProperties appProperties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        List<VersionedCache> caches = appProperties.getCaches().entrySet().stream()
+                .map(entry -> new VersionedCache(new CaffeineCache(entry.getKey(), Caffeine.newBuilder()
+                        .maximumSize(entry.getValue().getMaximumSize())
+                        .expireAfterWrite(Duration.ofMillis(entry.getValue().getTtlMs()))
+                        .recordStats()
+                        .build())))
+                .toList();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    /**
+     * Publish the statistics of the Caffeine cache behind each {@link VersionedCache}
+     */
+    @Bean
+    public CacheMeterBinderProvider<VersionedCache> versionedCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
     }
 }
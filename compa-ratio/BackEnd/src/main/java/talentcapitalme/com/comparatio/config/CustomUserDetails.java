@@ -3,23 +3,56 @@ package talentcapitalme.com.comparatio.config;
 
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+import talentcapitalme.com.comparatio.security.PrincipalSnapshot;
 
 import java.util.Collection;
+import java.util.Collections;
 
 public class CustomUserDetails implements UserDetails {
     private final User user;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final PrincipalSnapshot snapshot;
 
     public CustomUserDetails(User user, Collection<? extends GrantedAuthority> authorities) {
         this.user = user;
         this.authorities = authorities;
+        this.snapshot = PrincipalSnapshot.of(user);
+    }
+
+    /**
+     * Principal of a request authenticated by a JWT, built from the token claims and the cached user status
+     * without a database read. It carries no password or client name; the caller has already checked that the
+     * account is enabled.
+     */
+    public static CustomUserDetails fromToken(String id, String email, UserRole role,
+                                              PerformanceRatingScale scale, Currency currency) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setActive(true);
+        user.setPerformanceRatingScale(scale);
+        user.setCurrency(currency);
+        return new CustomUserDetails(user,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
     }
 
     public String getId() {
         return user.getId();
     }
+
+    /**
+     * Role, client id, scale and currency of this principal, computed once
+     */
+    public PrincipalSnapshot getSnapshot() {
+        return snapshot;
+    }
     
     public String getClientName() {
         return user.getName();
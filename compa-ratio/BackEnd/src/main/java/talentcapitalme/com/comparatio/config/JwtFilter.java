@@ -8,22 +8,35 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import talentcapitalme.com.comparatio.service.JWTService;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+import talentcapitalme.com.comparatio.service.JwtVerifier;
+import talentcapitalme.com.comparatio.service.JwtVerifier.VerifiedToken;
+import talentcapitalme.com.comparatio.service.UserStatusService;
 
 import java.io.IOException;
+
+/**
+ * Authenticates requests carrying a bearer token.
+ *
+ * The principal is built from the verified token claims (subject, id, roles) rather than reloaded by email,
+ * so a request costs a single (usually cached) {@link JwtVerifier} verification plus a cached
+ * {@link UserStatusService} lookup that rejects deleted, deactivated or re-roled accounts before their tokens expire.
+ * The principal's {@link talentcapitalme.com.comparatio.security.PrincipalSnapshot} is computed here, once per request.
+ */
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
-    private  final JWTService jwtService;
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JwtVerifier jwtVerifier;
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private final UserStatusService userStatusService;
 
-    public JwtFilter(JWTService jwtService, UserDetailsServiceImpl userDetailsService) {
-        this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+    public JwtFilter(JwtVerifier jwtVerifier, UserStatusService userStatusService) {
+        this.jwtVerifier = jwtVerifier;
+        this.userStatusService = userStatusService;
     }
 
     @Override
@@ -46,21 +59,19 @@ public class JwtFilter extends OncePerRequestFilter {
 
         String autHeader = request.getHeader("Authorization");
 
-        String token = null;
-        String username = null;
+        VerifiedToken claims = null;
 
         if (autHeader != null && autHeader.startsWith("Bearer ")) {
-            token = autHeader.substring(7);
             try {
-                username = jwtService.extractUsername(token);
+                claims = jwtVerifier.verify(autHeader.substring(7));
             } catch (Exception ignored) {
                 // Malformed/expired token: ignore and continue without authentication
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.validateToken(token, userDetails)) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            CustomUserDetails userDetails = toUserDetails(claims);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -70,5 +81,32 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
 
     }
+
+    /**
+     * Principal described by verified claims, or null when they are incomplete or the account is no longer enabled
+     */
+    private CustomUserDetails toUserDetails(VerifiedToken claims) {
+        String id = claims.userId();
+        UserRole role = roleOf(claims);
+        if (id == null || role == null || claims.subject() == null) {
+            return null;
+        }
+        return userStatusService.getEnabledStatus(id, role)
+                .map(status -> CustomUserDetails.fromToken(id, claims.subject(), role, status.scale(), status.currency()))
+                .orElse(null);
+    }
+
+    private static UserRole roleOf(VerifiedToken claims) {
+        for (String name : claims.roles()) {
+            if (name.startsWith(ROLE_PREFIX)) {
+                try {
+                    return UserRole.valueOf(name.substring(ROLE_PREFIX.length()));
+                } catch (IllegalArgumentException ignored) {
+                    // Unknown role: keep looking
+                }
+            }
+        }
+        return null;
+    }
 }
 
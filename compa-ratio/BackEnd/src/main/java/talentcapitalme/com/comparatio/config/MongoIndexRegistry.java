@@ -0,0 +1,82 @@
+package talentcapitalme.com.comparatio.config;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.entity.CacheVersion;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.Employee;
+import talentcapitalme.com.comparatio.entity.UploadHistory;
+import talentcapitalme.com.comparatio.entity.User;
+
+import java.util.List;
+
+/**
+ * Secondary indexes backing the repository queries, declared in one place and created on startup by
+ * {@link talentcapitalme.com.comparatio.service.IndexManagerService}.
+ *
+ * Indexes declared with {@code @Indexed} on an entity are created as well and are not repeated here.
+ * Collections with one document per client (active_batches, client_stats) are read by id and have no entries.
+ * Every query method added to a repository must be served by one of these indexes; RepositoryQueryPlanTest
+ * fails on any method whose winning plan is a collection scan.
+ */
+public final class MongoIndexRegistry {
+
+    public static final String MATRIX_CELL_INDEX = "client_perf_active_compa";
+    public static final String INCREASE_PCT_INDEX = "client_batch_increase_pct";
+    public static final String INCREASE_AMOUNT_INDEX = "client_batch_increase_amount";
+    public static final String CREATED_AT_INDEX = "client_batch_created_at_id";
+    public static final String EMPLOYEE_CODE_INDEX = "client_batch_employee_code_id";
+
+    /**
+     * One index of one entity's collection
+     */
+    public record Entry(Class<?> entityClass, Index index) {
+    }
+
+    private MongoIndexRegistry() {
+    }
+
+    /**
+     * All registered indexes. Definitions are mutable, so a fresh list is built on every call.
+     */
+    public static List<Entry> entries() {
+        return List.of(
+                // Matrix cell lookup by client, bucket and compa range; the clientId prefix serves the per-client listings
+                entry(AdjustmentMatrix.class, asc("clientId", "perfBucket", "active", "compaFrom", "compaTo")
+                        .named(MATRIX_CELL_INDEX)),
+
+                // Increase analysis: client's active batch, range filter and sort on the same field.
+                // The (clientId, batchId) prefix also serves the batch lookups, counts and deletes.
+                entry(CalculationResult.class, asc("clientId", "batchId", "increasePct").named(INCREASE_PCT_INDEX)),
+                entry(CalculationResult.class, asc("clientId", "batchId", "increaseAmount").named(INCREASE_AMOUNT_INDEX)),
+                // Batch listings in (createdAt, _id) or (employeeCode, _id) order, for page-number and keyset pagination
+                entry(CalculationResult.class, asc("clientId", "batchId", "createdAt", "_id").named(CREATED_AT_INDEX)),
+                entry(CalculationResult.class, asc("clientId", "batchId", "employeeCode", "_id").named(EMPLOYEE_CODE_INDEX)),
+
+                entry(Employee.class, asc("clientId").named("client")),
+
+                entry(UploadHistory.class, asc("clientId", "createdAt").named("client_created_at")),
+                entry(UploadHistory.class, asc("status", "createdAt").named("status_created_at")),
+                entry(UploadHistory.class, asc("batchId").named("batch")),
+                entry(UploadHistory.class, asc("expiresAt").named("expires_at")),
+
+                entry(User.class, asc("role", "active").named("role_active")),
+                entry(User.class, asc("name").named("name")),
+
+                // Cache invalidation polling: counters updated since the last poll
+                entry(CacheVersion.class, asc("updatedAt").named("updated_at")));
+    }
+
+    private static Entry entry(Class<?> entityClass, Index index) {
+        return new Entry(entityClass, index);
+    }
+
+    private static Index asc(String... fields) {
+        Index index = new Index();
+        for (String field : fields) {
+            index.on(field, Sort.Direction.ASC);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,165 @@
+package talentcapitalme.com.comparatio.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache whose entries are snapshots stamped with the version of their key at the time the value was loaded.
+ *
+ * Every eviction bumps the key's version and every clear bumps the cache epoch. A snapshot is only served while
+ * its stamp matches the current version, so a value loaded from the database before an invalidation and put
+ * after it (a load racing with an update, possibly on another node) is dropped instead of being served until
+ * its TTL. Versions are kept per invalidated key, i.e. at most one small entry per client or user.
+ */
+public class VersionedCache implements Cache {
+
+    private record Version(long epoch, long keyVersion) {
+    }
+
+    private record Snapshot(Object value, Version version) {
+    }
+
+    /**
+     * Version seen by the last miss on this thread; Spring's cache interceptor puts the loaded value right after
+     */
+    private record PendingLoad(Object key, Version version) {
+    }
+
+    private final CaffeineCache delegate;
+    private final ConcurrentMap<Object, Long> keyVersions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    public VersionedCache(CaffeineCache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * Current version of a key
+     */
+    public long getVersion(Object key) {
+        return keyVersions.getOrDefault(key, 0L);
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Snapshot snapshot = current(key);
+        if (snapshot == null) {
+            pendingLoad.set(new PendingLoad(key, versionOf(key)));
+            return null;
+        }
+        return new SimpleValueWrapper(snapshot.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Snapshot snapshot = current(key);
+        if (snapshot != null) {
+            return (T) snapshot.value();
+        }
+        Version version = versionOf(key);
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        store(key, value, version);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad pending = pendingLoad.get();
+        pendingLoad.remove();
+        Version version = pending != null && Objects.equals(pending.key(), key) ? pending.version() : versionOf(key);
+        store(key, value, version);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Snapshot snapshot = current(key);
+        if (snapshot != null) {
+            return new SimpleValueWrapper(snapshot.value());
+        }
+        store(key, value, versionOf(key));
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        keyVersions.merge(key, 1L, Long::sum);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        keyVersions.merge(key, 1L, Long::sum);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        epoch.incrementAndGet();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        epoch.incrementAndGet();
+        return delegate.invalidate();
+    }
+
+    private Version versionOf(Object key) {
+        return new Version(epoch.get(), getVersion(key));
+    }
+
+    private Snapshot current(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Snapshot snapshot = (Snapshot) wrapper.get();
+        if (snapshot == null || !snapshot.version().equals(versionOf(key))) {
+            delegate.evict(key);
+            return null;
+        }
+        return snapshot;
+    }
+
+    private void store(Object key, Object value, Version version) {
+        // Invalidated while the value was being loaded: the value may predate the change, so do not cache it
+        if (version.equals(versionOf(key))) {
+            delegate.put(key, new Snapshot(value, version));
+        }
+    }
+}
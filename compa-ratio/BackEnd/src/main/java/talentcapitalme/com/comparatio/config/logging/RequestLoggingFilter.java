@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import talentcapitalme.com.comparatio.security.PrincipalSnapshot;
 import talentcapitalme.com.comparatio.util.SecurityUtils;
 
 import java.io.IOException;
@@ -44,8 +45,9 @@ public class RequestLoggingFilter implements Filter {
 
     private void logIncomingRequest(HttpServletRequest request) {
         if (shouldLogRequest(request)) {
-            String userId = SecurityUtils.getCurrentUserId();
-            String clientId = SecurityUtils.getCurrentUserClientId();
+            PrincipalSnapshot principal = SecurityUtils.getCurrentPrincipal();
+            String userId = principal != null ? principal.userId() : null;
+            String clientId = principal != null ? principal.clientId() : null;
             
             log.info("Incoming Request - Method: {}, URI: {}, User: {}, Client: {}, IP: {}, UserAgent: {}",
                     request.getMethod(),
@@ -64,8 +66,9 @@ public class RequestLoggingFilter implements Filter {
 
     private void logOutgoingResponse(HttpServletRequest request, HttpServletResponse response, long duration) {
         if (shouldLogRequest(request)) {
-            String userId = SecurityUtils.getCurrentUserId();
-            String clientId = SecurityUtils.getCurrentUserClientId();
+            PrincipalSnapshot principal = SecurityUtils.getCurrentPrincipal();
+            String userId = principal != null ? principal.userId() : null;
+            String clientId = principal != null ? principal.clientId() : null;
             
             log.info("Outgoing Response - Method: {}, URI: {}, Status: {}, Duration: {}ms, User: {}, Client: {}",
                     request.getMethod(),
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,20 +18,29 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import talentcapitalme.com.comparatio.dto.BulkJobResponse;
 import talentcapitalme.com.comparatio.dto.BulkResponse;
 import talentcapitalme.com.comparatio.dto.BulkRowResult;
 import talentcapitalme.com.comparatio.dto.CalcRequest;
 import talentcapitalme.com.comparatio.dto.CalcResponse;
 import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
 import talentcapitalme.com.comparatio.repository.CalculationResultRepository;
 import talentcapitalme.com.comparatio.security.Authz;
+import talentcapitalme.com.comparatio.service.IBulkJobService;
 import talentcapitalme.com.comparatio.service.IExcelProcessingService;
 import talentcapitalme.com.comparatio.service.ICompensationService;
 import talentcapitalme.com.comparatio.service.PerformanceRatingService;
+import talentcapitalme.com.comparatio.service.ResultBatchService;
+import talentcapitalme.com.comparatio.service.ResultCursor;
 import talentcapitalme.com.comparatio.util.CalculationResultMapper;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 // Handles compensation calculations and Excel processing
 @Slf4j
@@ -44,6 +54,8 @@ public class CalcController {
     private final CalculationResultRepository resultRepo;
     private final CalculationResultMapper resultMapper;
     private final PerformanceRatingService performanceRatingService;
+    private final IBulkJobService bulkJobService;
+    private final ResultBatchService resultBatchService;
 
     @Operation(summary = "Individual Calculation", description = "Calculate compensation for a single employee")
     @PostMapping("/individual")
@@ -54,11 +66,11 @@ public class CalcController {
 
     @Operation(summary = "Bulk Calculation", description = "Process Excel file and return enhanced Excel with calculation results")
     @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<byte[]> bulk(
+    public ResponseEntity<StreamingResponseBody> bulk(
             @Parameter(description = "Excel file with employee data") @RequestParam("file") MultipartFile file) {
         try {
             BulkResponse response = excelProcessingService.processExcelFile(file);
-            byte[] xlsx = excelProcessingService.generateEnhancedExcel(response.getRows(), response.getBatchId());
+            StreamingResponseBody xlsx = out -> excelProcessingService.writeEnhancedExcel(response.getRows(), out);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(
@@ -82,16 +94,38 @@ public class CalcController {
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            return new ResponseEntity<>(errorJson.getBytes(), headers, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(out -> out.write(errorJson.getBytes()), headers, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             String errorJson = String.format("{\"error\": \"Unexpected error: %s\"}",
                     e.getMessage().replace("\"", "\\\""));
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            return new ResponseEntity<>(errorJson.getBytes(), headers, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(out -> out.write(errorJson.getBytes()), headers, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @Operation(summary = "Asynchronous Bulk Calculation", description = "Accept an Excel file and process it in the background. Poll the returned batch ID for progress and download the result from /bulk/{batchId} once finished")
+    @PostMapping(value = "/bulk/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkJobResponse> bulkAsync(
+            @Parameter(description = "Excel file with employee data") @RequestParam("file") MultipartFile file) throws IOException {
+        BulkJobResponse job = bulkJobService.submit(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Get Bulk Job Status", description = "Get the status and progress of an asynchronous bulk calculation")
+    @GetMapping("/bulk/jobs/{batchId}")
+    public ResponseEntity<BulkJobResponse> getBulkJobStatus(
+            @Parameter(description = "Batch ID returned when the job was submitted") @PathVariable String batchId) {
+        return ResponseEntity.ok(bulkJobService.getStatus(batchId));
+    }
+
+    @Operation(summary = "Cancel Bulk Job", description = "Cancel a queued or running asynchronous bulk calculation")
+    @PostMapping("/bulk/jobs/{batchId}/cancel")
+    public ResponseEntity<BulkJobResponse> cancelBulkJob(
+            @Parameter(description = "Batch ID returned when the job was submitted") @PathVariable String batchId) {
+        return ResponseEntity.ok(bulkJobService.cancel(batchId));
+    }
+
     @Operation(summary = "Upload Excel File", description = "Simple file upload endpoint for testing")
     @PostMapping("/upload")
     public ResponseEntity<String> uploadExcel(@RequestParam("file") MultipartFile file) {
@@ -109,130 +143,130 @@ public class CalcController {
             @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
         String clientId = Authz.getCurrentUserClientId();
 
-        List<CalculationResult> dbResults = resultRepo.findByBatchId(batchId).stream()
-                .filter(r -> clientId.equals(r.getClientId()))
-                .sorted((r1, r2) -> r1.getEmployeeCode().compareTo(r2.getEmployeeCode()))
-                .toList();
+        // one page in employee code order straight from the (clientId, batchId, employeeCode) index
+        List<CalculationResult> dbResults = resultBatchService.findBatchTablePage(clientId, batchId, page, size);
+        var userScale = performanceRatingService.getUserPerformanceRatingScale();
         
-        var allRows = new ArrayList<BulkRowResult>();
+        var paginatedRows = new ArrayList<BulkRowResult>(dbResults.size());
+        int startIndex = page * size;
         for (int i = 0; i < dbResults.size(); i++) {
-            CalculationResult r = dbResults.get(i);
-            BulkRowResult rowResult = BulkRowResult.builder()
-                    .rowIndex(i + 1)
-                    .employeeCode(r.getEmployeeCode())
-                    .employeeName(r.getEmployeeName() != null ? r.getEmployeeName() : "N/A")
-                    .jobTitle(r.getJobTitle())
-                    .yearsExperience(r.getYearsExperience())
-                    .performanceRating5(convertBucketToRating(r.getPerfBucket()))
-                    .currentSalary(r.getCurrentSalary())
-                    .midOfScale(r.getMidOfScale())
-                    .compaRatio(r.getCompaRatio())
-                    .compaLabel(r.getCompaLabel())
-                    .increasePct(r.getIncreasePct())
-                    .newSalary(r.getNewSalary())
-                    .increaseAmount(r.getNewSalary().subtract(r.getCurrentSalary()))
-                    .build();
-            allRows.add(rowResult);
+            paginatedRows.add(toTableRow(dbResults.get(i), startIndex + i + 1, userScale));
         }
 
-        int successCount = (int) allRows.stream().filter(r -> r.getError() == null).count();
-        int errorCount = allRows.size() - successCount;
-
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, allRows.size());
-        var paginatedRows = allRows.subList(startIndex, endIndex);
+        // only successful rows are stored, so every stored row counts as a success
+        int totalRows = (int) resultBatchService.countBatchResults(clientId, batchId);
 
-        BulkResponse response = new BulkResponse(batchId, allRows.size(), successCount, errorCount, paginatedRows);
+        BulkResponse response = new BulkResponse(batchId, totalRows, totalRows, 0, paginatedRows);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Download Results", description = "Download Excel file with calculation results for a batch")
+    @Operation(summary = "Download Results", description = "Download Excel file with calculation results for a batch. " +
+            "The workbook is streamed from a database cursor while it is written, so the download starts immediately")
     @GetMapping("/bulk/{batchId}")
-    public ResponseEntity<byte[]> download(
+    public ResponseEntity<StreamingResponseBody> download(
             @Parameter(description = "Batch ID from bulk calculation") @PathVariable String batchId)
             throws IOException {
+        // Resolved on the request thread; the body is written on an async thread without the security context
         String clientId = Authz.getCurrentUserClientId();
-        
-        List<CalculationResult> dbResults = resultRepo.findByBatchId(batchId).stream()
-                .filter(r -> clientId.equals(r.getClientId()))
-                .sorted((r1, r2) -> r1.getEmployeeCode().compareTo(r2.getEmployeeCode()))
-                .toList();
-        
-        var rows = new ArrayList<BulkRowResult>();
-        for (int i = 0; i < dbResults.size(); i++) {
-            CalculationResult r = dbResults.get(i);
-            BulkRowResult rowResult = BulkRowResult.builder()
-                    .rowIndex(i + 1)
-                    .employeeCode(r.getEmployeeCode())
-                    .employeeName(r.getEmployeeName() != null ? r.getEmployeeName() : "N/A")
-                    .jobTitle(r.getJobTitle())
-                    .yearsExperience(r.getYearsExperience())
-                    .performanceRating5(convertBucketToRating(r.getPerfBucket()))
-                    .currentSalary(r.getCurrentSalary())
-                    .midOfScale(r.getMidOfScale())
-                    .compaRatio(r.getCompaRatio())
-                    .compaLabel(r.getCompaLabel())
-                    .increasePct(r.getIncreasePct())
-                    .newSalary(r.getNewSalary())
-                    .increaseAmount(r.getNewSalary().subtract(r.getCurrentSalary()))
-                    .build();
-            rows.add(rowResult);
-        }
+        var userScale = performanceRatingService.getUserPerformanceRatingScale();
 
-        byte[] xlsx = excelProcessingService.generateEnhancedExcel(rows, batchId);
+        StreamingResponseBody xlsx = out -> {
+            try (Stream<CalculationResult> results = resultBatchService.streamBatchTableRows(clientId, batchId)) {
+                AtomicInteger rowIndex = new AtomicInteger();
+                Iterator<BulkRowResult> rows = results
+                        .map(r -> toTableRow(r, rowIndex.incrementAndGet(), userScale))
+                        .iterator();
+                excelProcessingService.writeEnhancedExcel(() -> rows, out);
+            }
+        };
         HttpHeaders h = new HttpHeaders();
         h.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
         h.setContentDisposition(ContentDisposition.attachment().filename("bulk-results-" + batchId + ".xlsx").build());
         return new ResponseEntity<>(xlsx, h, HttpStatus.OK);
     }
 
-    @Operation(summary = "Get All Calculation Results (Pageable)", description = "Fetch all calculation results for current client with Spring Data pagination and sorting")
+    @Operation(summary = "Get All Calculation Results (Pageable)", description = "Fetch the calculation results of the current client's active batch with Spring Data pagination and sorting. " +
+            "Pass the returned nextCursor as 'cursor' to continue with keyset pagination, which keeps deep pages as fast as the first")
     @GetMapping("/results")
     public ResponseEntity<BulkResponse> getAllResults(
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page number (0-based), ignored when a cursor is given") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field (createdAt, employeeCode, newSalary, etc.)") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Cursor from a previous response's nextCursor; its sort order takes precedence over sortBy/sortDirection") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Include the total count in cursor mode") @RequestParam(defaultValue = "false") boolean includeTotal) {
         String clientId = Authz.getCurrentUserClientId();
+        String batchId = resultBatchService.getActiveBatchId(clientId);
 
-        Sort.Direction direction = Sort.Direction.fromString(sortDirection);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<CalculationResult> resultPage = resultRepo.findByClientId(clientId, pageable);
-        List<BulkRowResult> rows = resultMapper.convertToBulkRowResults(resultPage.getContent());
-
-        BulkResponse response = BulkResponse.builder()
-                .batchId("all")
-                .totalRows((int) resultPage.getTotalElements())
-                .successCount(rows.size())
-                .errorCount(0)
-                .rows(rows)
-                .pageNumber(resultPage.getNumber())
-                .pageSize(resultPage.getSize())
-                .totalPages(resultPage.getTotalPages())
-                .totalElements(resultPage.getTotalElements())
-                .first(resultPage.isFirst())
-                .last(resultPage.isLast())
-                .build();
-
-        return ResponseEntity.ok(response);
+        if (batchId == null) {
+            Page<CalculationResult> empty = Page.empty(PageRequest.of(page, size));
+            return ResponseEntity.ok(toPageResponse("all", empty, List.of(), null));
+        }
+        return ResponseEntity.ok(getResultsPage(clientId, batchId, "all", page, size, sortBy, sortDirection, cursor, includeTotal));
     }
 
-    @Operation(summary = "Get Calculation Results by Batch and Client (Pageable)", description = "Fetch calculation results for a specific batch and client with efficient pagination")
+    @Operation(summary = "Get Calculation Results by Batch and Client (Pageable)", description = "Fetch calculation results for a specific batch and client with efficient pagination. " +
+            "Pass the returned nextCursor as 'cursor' to continue with keyset pagination, which keeps deep pages as fast as the first")
     @GetMapping("/results/batch/{batchId}")
     public ResponseEntity<BulkResponse> getResultsByBatch(
             @Parameter(description = "Batch ID") @PathVariable String batchId,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page number (0-based), ignored when a cursor is given") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String sortDirection,
+            @Parameter(description = "Cursor from a previous response's nextCursor; its sort order takes precedence over sortBy/sortDirection") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Include the total count in cursor mode") @RequestParam(defaultValue = "false") boolean includeTotal) {
         String clientId = Authz.getCurrentUserClientId();
 
-        Sort.Direction direction = Sort.Direction.fromString(sortDirection);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<CalculationResult> resultPage = resultRepo.findByClientIdAndBatchId(clientId, batchId, pageable);
-        List<BulkRowResult> rows = resultMapper.convertToBulkRowResults(resultPage.getContent());
+        return ResponseEntity.ok(getResultsPage(clientId, batchId, batchId, page, size, sortBy, sortDirection, cursor, includeTotal));
+    }
+
+    /**
+     * One page of a batch: keyset pagination when a cursor is given, page numbers otherwise.
+     * Both return a nextCursor when sorted by a field a cursor can be keyed on.
+     */
+    private BulkResponse getResultsPage(String clientId, String batchId, String responseBatchId, int page, int size,
+                                        String sortBy, String sortDirection, String cursor, boolean includeTotal) {
+        if (cursor == null || cursor.isBlank()) {
+            Sort.Direction direction = Sort.Direction.fromString(sortDirection);
+            // _id breaks ties so that rows sharing a sort key (e.g. a batch's createdAt) keep a stable order
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy).and(Sort.by(direction, "_id")));
+            Page<CalculationResult> resultPage = resultBatchService.findBatchResults(clientId, batchId, pageable);
+            List<CalculationResult> content = resultPage.getContent();
+            String nextCursor = resultPage.hasNext() && ResultCursor.supports(sortBy) && !content.isEmpty()
+                    ? ResultCursor.after(content.get(content.size() - 1), sortBy, direction).encode()
+                    : null;
+            return toPageResponse(responseBatchId, resultPage, resultMapper.convertToBulkRowResults(content), nextCursor);
+        }
+
+        ResultCursor position = ResultCursor.decode(cursor);
+        // one extra row tells whether there is a next page without counting
+        List<CalculationResult> fetched = resultBatchService.findBatchResultsAfter(clientId, batchId,
+                position.sortBy(), position.direction(), position, size + 1);
+        boolean hasNext = fetched.size() > size;
+        List<CalculationResult> content = hasNext ? fetched.subList(0, size) : fetched;
+        List<BulkRowResult> rows = resultMapper.convertToBulkRowResults(content);
+        Long total = includeTotal ? resultBatchService.countBatchResults(clientId, batchId) : null;
+
+        return BulkResponse.builder()
+                .batchId(responseBatchId)
+                .totalRows(total != null ? total.intValue() : rows.size())
+                .successCount(rows.size())
+                .errorCount(0)
+                .rows(rows)
+                .pageSize(size)
+                .totalElements(total)
+                .first(false)
+                .last(!hasNext)
+                .nextCursor(hasNext
+                        ? ResultCursor.after(content.get(content.size() - 1), position.sortBy(), position.direction()).encode()
+                        : null)
+                .build();
+    }
 
-        BulkResponse response = BulkResponse.builder()
+    private BulkResponse toPageResponse(String batchId, Page<CalculationResult> resultPage, List<BulkRowResult> rows,
+                                        String nextCursor) {
+        return BulkResponse.builder()
                 .batchId(batchId)
                 .totalRows((int) resultPage.getTotalElements())
                 .successCount(rows.size())
@@ -244,14 +278,11 @@ public class CalcController {
                 .totalElements(resultPage.getTotalElements())
                 .first(resultPage.isFirst())
                 .last(resultPage.isLast())
+                .nextCursor(nextCursor)
                 .build();
-
-        return ResponseEntity.ok(response);
     }
 
-    private int convertBucketToRating(int perfBucket) {
-        var userScale = performanceRatingService.getUserPerformanceRatingScale();
-        
+    private int convertBucketToRating(int perfBucket, PerformanceRatingScale userScale) {
         switch (userScale) {
             case THREE_POINT:
                 return perfBucket;
@@ -267,14 +298,18 @@ public class CalcController {
         }
     }
 
-    private BulkRowResult convertToRowResult(CalculationResult r) {
+    private BulkRowResult convertToRowResult(CalculationResult r, PerformanceRatingScale userScale) {
+        return toTableRow(r, 0, userScale);
+    }
+
+    private BulkRowResult toTableRow(CalculationResult r, int rowIndex, PerformanceRatingScale userScale) {
         return BulkRowResult.builder()
-                .rowIndex(0)
+                .rowIndex(rowIndex)
                 .employeeCode(r.getEmployeeCode())
                 .employeeName(r.getEmployeeName() != null ? r.getEmployeeName() : "N/A")
                 .jobTitle(r.getJobTitle())
                 .yearsExperience(r.getYearsExperience())
-                .performanceRating5(convertBucketToRating(r.getPerfBucket()))
+                .performanceRating5(convertBucketToRating(r.getPerfBucket(), userScale))
                 .currentSalary(r.getCurrentSalary())
                 .midOfScale(r.getMidOfScale())
                 .compaRatio(r.getCompaRatio())
@@ -303,20 +338,26 @@ public class CalcController {
             @RequestParam(defaultValue = "20") int size) {
         
         String clientId = Authz.getCurrentUserId();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("newSalary").descending());
+        Pageable pageable = PageRequest.of(page, size, Sort.by("increaseAmount").descending());
         Page<CalculationResult> results;
         
-        if (from != null && to != null) {
-            results = resultRepo.findByClientIdAndSalaryIncreaseBetween(clientId, from, to, pageable);
+        String batchId = resultBatchService.getActiveBatchId(clientId);
+        
+        if (batchId == null) {
+            results = Page.empty(pageable);
+        } else if (from != null && to != null) {
+            results = resultRepo.findByClientIdAndBatchIdAndSalaryIncreaseBetween(clientId, batchId,
+                    new Decimal128(from), new Decimal128(to), pageable);
         } else if (from != null) {
-            results = resultRepo.findByClientIdAndSalaryIncreaseGreaterThanOrEqual(clientId, from, pageable);
+            results = resultRepo.findByClientIdAndBatchIdAndSalaryIncreaseGreaterThanOrEqual(clientId, batchId, new Decimal128(from), pageable);
         } else if (to != null) {
-            results = resultRepo.findByClientIdAndSalaryIncreaseLessThanOrEqual(clientId, to, pageable);
+            results = resultRepo.findByClientIdAndBatchIdAndSalaryIncreaseLessThanOrEqual(clientId, batchId, new Decimal128(to), pageable);
         } else {
-            results = resultRepo.findByClientId(clientId, pageable);
+            results = resultRepo.findByClientIdAndBatchId(clientId, batchId, pageable);
         }
         
-        Page<BulkRowResult> dtoPage = results.map(this::convertToRowResult);
+        var userScale = performanceRatingService.getUserPerformanceRatingScale();
+        Page<BulkRowResult> dtoPage = results.map(r -> convertToRowResult(r, userScale));
         return ResponseEntity.ok(dtoPage);
     }
 
@@ -340,17 +381,23 @@ public class CalcController {
         Pageable pageable = PageRequest.of(page, size, Sort.by("increasePct").descending());
         Page<CalculationResult> results;
         
-        if (from != null && to != null) {
-            results = resultRepo.findByClientIdAndIncreasePctBetween(clientId, from, to, pageable);
+        String batchId = resultBatchService.getActiveBatchId(clientId);
+        
+        if (batchId == null) {
+            results = Page.empty(pageable);
+        } else if (from != null && to != null) {
+            results = resultRepo.findByClientIdAndBatchIdAndIncreasePctBetween(clientId, batchId,
+                    new Decimal128(from), new Decimal128(to), pageable);
         } else if (from != null) {
-            results = resultRepo.findByClientIdAndIncreasePctGreaterThanOrEqual(clientId, from, pageable);
+            results = resultRepo.findByClientIdAndBatchIdAndIncreasePctGreaterThanOrEqual(clientId, batchId, new Decimal128(from), pageable);
         } else if (to != null) {
-            results = resultRepo.findByClientIdAndIncreasePctLessThanOrEqual(clientId, to, pageable);
+            results = resultRepo.findByClientIdAndBatchIdAndIncreasePctLessThanOrEqual(clientId, batchId, new Decimal128(to), pageable);
         } else {
-            results = resultRepo.findByClientId(clientId, pageable);
+            results = resultRepo.findByClientIdAndBatchId(clientId, batchId, pageable);
         }
         
-        Page<BulkRowResult> dtoPage = results.map(this::convertToRowResult);
+        var userScale = performanceRatingService.getUserPerformanceRatingScale();
+        Page<BulkRowResult> dtoPage = results.map(r -> convertToRowResult(r, userScale));
         return ResponseEntity.ok(dtoPage);
     }
 }
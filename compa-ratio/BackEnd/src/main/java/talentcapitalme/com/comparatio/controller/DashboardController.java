@@ -10,10 +10,16 @@ import org.springframework.web.bind.annotation.*;
 import talentcapitalme.com.comparatio.dto.ClientAccountSummary;
 import talentcapitalme.com.comparatio.dto.ClientAccountsResponse;
 import talentcapitalme.com.comparatio.dto.ClientDashboardStatistics;
+import talentcapitalme.com.comparatio.dto.ClientStatsConsistency;
+import talentcapitalme.com.comparatio.dto.CompaHeatmap;
 import talentcapitalme.com.comparatio.dto.DashboardResponse;
+import talentcapitalme.com.comparatio.dto.IncreasePercentiles;
 import talentcapitalme.com.comparatio.security.Authz;
 import talentcapitalme.com.comparatio.service.IDashboardService;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Super Admin Dashboard Controller
  * 
@@ -211,4 +217,105 @@ public class DashboardController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @Operation(
+        summary = "Get Client Increase Percentiles",
+        description = "Get p10/p25/median/p75/p90 and a histogram of the percentage and amount increases of a client's active batch, " +
+                     "estimated from quantile sketches. CLIENT_ADMIN users get their own distribution. SUPER_ADMIN must specify clientId."
+    )
+    @GetMapping("/client-statistics/percentiles")
+    @PreAuthorize("hasAnyRole('CLIENT_ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<IncreasePercentiles> getClientIncreasePercentiles(
+            @Parameter(description = "Client ID (optional for CLIENT_ADMIN, required for SUPER_ADMIN)")
+            @RequestParam(required = false) String clientId,
+            @Parameter(description = "Number of histogram bins (1-50)") @RequestParam(defaultValue = "10") int bins) {
+        
+        String effectiveClientId = Authz.requireClientScope(clientId);
+        
+        try {
+            return ResponseEntity.ok(dashboardService.getIncreasePercentiles(effectiveClientId, bins));
+        } catch (Exception e) {
+            log.error("Error fetching increase percentiles for client {}", effectiveClientId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get Compa Ratio Heatmap",
+        description = "Get headcount, total current salary and total increase per performance bucket and compa ratio range of a batch, " +
+                     "laid out like the adjustment matrix. Defaults to the client's active batch. " +
+                     "CLIENT_ADMIN users get their own batches. SUPER_ADMIN must specify clientId."
+    )
+    @GetMapping("/client-statistics/heatmap")
+    @PreAuthorize("hasAnyRole('CLIENT_ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<CompaHeatmap> getCompaHeatmap(
+            @Parameter(description = "Client ID (optional for CLIENT_ADMIN, required for SUPER_ADMIN)")
+            @RequestParam(required = false) String clientId,
+            @Parameter(description = "Batch ID (optional, active batch when omitted)")
+            @RequestParam(required = false) String batchId) {
+        
+        String effectiveClientId = Authz.requireClientScope(clientId);
+        
+        try {
+            return ResponseEntity.ok(dashboardService.getCompaHeatmap(effectiveClientId, batchId));
+        } catch (Exception e) {
+            log.error("Error fetching compa heatmap for client {}", effectiveClientId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get Platform Increase Percentiles",
+        description = "Get increase percentiles and histograms across the active batches of all clients, merged from their quantile sketches"
+    )
+    @GetMapping("/statistics/percentiles")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<IncreasePercentiles> getIncreasePercentiles(
+            @Parameter(description = "Number of histogram bins (1-50)") @RequestParam(defaultValue = "10") int bins) {
+        
+        try {
+            return ResponseEntity.ok(dashboardService.getIncreasePercentiles(null, bins));
+        } catch (Exception e) {
+            log.error("Error fetching platform increase percentiles", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+        summary = "Rebuild Client Statistics Rollups",
+        description = "Recompute the statistics rollup of a client's active batch from its calculation results. " +
+                     "Without clientId every client is rebuilt, e.g. to backfill existing tenants."
+    )
+    @PostMapping("/client-statistics/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildClientStatistics(
+            @Parameter(description = "Client ID (optional, all clients when omitted)")
+            @RequestParam(required = false) String clientId) {
+        
+        try {
+            int rebuilt = dashboardService.rebuildClientStatistics(clientId);
+            return ResponseEntity.ok(Map.of("rebuilt", rebuilt));
+        } catch (Exception e) {
+            log.error("Error rebuilding client statistics rollups", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+        summary = "Check Client Statistics Rollups",
+        description = "Compare the statistics rollup of each client's active batch with a full recompute and report mismatched fields"
+    )
+    @GetMapping("/client-statistics/consistency")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<ClientStatsConsistency>> checkClientStatistics(
+            @Parameter(description = "Client ID (optional, all clients when omitted)")
+            @RequestParam(required = false) String clientId) {
+        
+        try {
+            return ResponseEntity.ok(dashboardService.checkClientStatistics(clientId));
+        } catch (Exception e) {
+            log.error("Error checking client statistics rollups", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
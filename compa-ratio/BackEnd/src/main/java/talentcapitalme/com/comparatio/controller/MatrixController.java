@@ -10,10 +10,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
-import talentcapitalme.com.comparatio.exception.NotFoundException;
 import talentcapitalme.com.comparatio.exception.ValidationException;
 import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
+import talentcapitalme.com.comparatio.service.IMatrixManagementService;
 import talentcapitalme.com.comparatio.service.IMatrixSeederService;
+import talentcapitalme.com.comparatio.service.MatrixIndexService;
 
 import java.util.List;
 
@@ -34,6 +35,8 @@ import java.util.List;
 public class MatrixController {
     private final AdjustmentMatrixRepository repo;
     private final IMatrixSeederService seeder;
+    private final IMatrixManagementService matrixService;
+    private final MatrixIndexService matrixIndexService;
 
     @Operation(summary = "Get Matrices by Client", description = "Get all matrices for a specific client (Super Admin only)")
     @GetMapping
@@ -44,7 +47,7 @@ public class MatrixController {
         if (clientId == null || clientId.trim().isEmpty()) {
             throw new ValidationException("Client ID is required");
         }
-        List<AdjustmentMatrix> matrices = repo.findByClientIdAndActiveTrue(clientId);
+        List<AdjustmentMatrix> matrices = matrixIndexService.getActiveMatrices(clientId);
         log.info("Matrix Management Controller: Retrieved {} matrices for client: {}", matrices.size(), clientId);
         return matrices;
     }
@@ -59,8 +62,7 @@ public class MatrixController {
         if (clientId == null || clientId.trim().isEmpty()) {
             throw new ValidationException("Client ID is required");
         }
-        m.setClientId(clientId);
-        AdjustmentMatrix saved = repo.save(m);
+        AdjustmentMatrix saved = matrixService.createMatrix(clientId, m);
         log.info("Matrix Management Controller: Matrix created successfully with ID: {} for client: {}", 
                 saved.getId(), clientId);
         return saved;
@@ -78,17 +80,8 @@ public class MatrixController {
             throw new ValidationException("Client ID is required");
         }
         
-        // Verify the matrix exists and belongs to the specified client
-        AdjustmentMatrix existing = repo.findById(id)
-                .orElseThrow(() -> new NotFoundException("Adjustment matrix not found"));
-        
-        if (!clientId.equals(existing.getClientId())) {
-            throw new ValidationException("Matrix does not belong to the specified client");
-        }
-        
-        m.setId(id);
-        m.setClientId(clientId);
-        AdjustmentMatrix updated = repo.save(m);
+        // The service verifies the matrix exists and belongs to the specified client
+        AdjustmentMatrix updated = matrixService.updateMatrix(id, clientId, m);
         log.info("Matrix Management Controller: Matrix updated successfully for ID: {} and client: {}", id, clientId);
         return updated;
     }
@@ -105,14 +98,8 @@ public class MatrixController {
             throw new ValidationException("Client ID is required");
         }
         
-        AdjustmentMatrix matrix = repo.findById(id)
-                .orElseThrow(() -> new NotFoundException("Adjustment matrix not found"));
-        
-        if (!clientId.equals(matrix.getClientId())) {
-            throw new ValidationException("Matrix does not belong to the specified client");
-        }
-        
-        repo.deleteById(id);
+        // The service verifies the matrix exists and belongs to the specified client
+        matrixService.deleteMatrix(id, clientId);
         log.info("Matrix Management Controller: Matrix deleted successfully for ID: {} and client: {}", id, clientId);
     }
 
@@ -0,0 +1,32 @@
+package talentcapitalme.com.comparatio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import talentcapitalme.com.comparatio.entity.UploadHistory;
+
+import java.time.Instant;
+
+/**
+ * DTO describing the state of an asynchronous bulk calculation job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobResponse {
+
+    private String batchId;
+    private String fileName;
+    private UploadHistory.UploadStatus status;
+    private int totalRows;
+    private int processedRows;
+    private int successRows;
+    private int errorRows;
+    private long processingTimeMs;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private String resultUrl;   // download route once the job has finished
+}
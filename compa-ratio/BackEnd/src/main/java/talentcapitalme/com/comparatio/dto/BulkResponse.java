@@ -25,6 +25,7 @@ public class BulkResponse {
     private Long totalElements;
     private Boolean first;
     private Boolean last;
+    private String nextCursor;   // opaque keyset cursor for the following page, null on the last page
 
     // Constructor for backward compatibility (without pagination)
     public BulkResponse(String batchId, int totalRows, int successCount, int errorCount, List<BulkRowResult> rows) {
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * DTO for client dashboard statistics based on calculation results
@@ -30,6 +31,9 @@ public class ClientDashboardStatistics {
     // Amount Increase Analysis (based on newSalary - currentSalary)
     private AmountIncreaseAnalysis amountIncreaseAnalysis;
     
+    // Number of employees per increase percentage range, excluding zero increases
+    private List<IncreaseBucket> increaseDistribution;
+    
     // Metadata
     private String clientId;
     private String lastUpdated;
@@ -60,4 +64,16 @@ public class ClientDashboardStatistics {
         private BigDecimal maximum;    // Maximum salary increase amount
         private BigDecimal average;    // Average salary increase amount
     }
+    
+    /**
+     * Nested class for one increase percentage range
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IncreaseBucket {
+        private String label;          // e.g. "5-10%"; the last range is open ended, e.g. "25%+"
+        private long count;            // Number of employees in the range
+    }
 }
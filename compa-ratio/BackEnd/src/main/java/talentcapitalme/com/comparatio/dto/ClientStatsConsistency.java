@@ -0,0 +1,26 @@
+package talentcapitalme.com.comparatio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of comparing a client's statistics rollup with a full recompute of its active batch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientStatsConsistency {
+
+    private String clientId;
+    private String batchId;
+    private boolean rollupPresent;
+    private boolean consistent;
+    private long rollupCount;             // results counted by the rollup
+    private long recomputedCount;         // results counted by the recompute
+    private List<String> mismatchedFields;
+}
@@ -0,0 +1,46 @@
+package talentcapitalme.com.comparatio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the compa ratio by performance bucket grid of a batch, laid out like the adjustment matrix
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompaHeatmap {
+
+    private String clientId;
+    private String batchId;                    // null when the client has no results
+    private List<Integer> perfBuckets;         // Rows, ascending
+    private List<String> compaLabels;          // Columns, ascending compa ratio
+    private List<Cell> cells;                  // One per row and column, row by row; empty cells are zero
+
+    // Totals over all cells
+    private long totalHeadcount;
+    private BigDecimal totalCurrentSalary;
+    private BigDecimal totalIncrease;
+
+    /**
+     * Nested class for one (perfBucket, compaLabel) cell
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private Integer perfBucket;
+        private String compaLabel;
+        private long headcount;                // Number of employees
+        private BigDecimal totalCurrentSalary; // Sum of current salaries
+        private BigDecimal totalIncrease;      // Sum of newSalary - currentSalary
+        private BigDecimal increaseShare;      // Percentage of the batch's total increase
+    }
+}
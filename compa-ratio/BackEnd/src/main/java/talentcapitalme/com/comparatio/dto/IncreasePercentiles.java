@@ -0,0 +1,57 @@
+package talentcapitalme.com.comparatio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for increase percentiles and histograms of a client's active batch, or of all clients merged.
+ * Values are estimated from quantile sketches, so they are approximate.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncreasePercentiles {
+
+    private String clientId;                   // null when merged across all clients
+    private Distribution percentageIncrease;   // based on increasePct
+    private Distribution amountIncrease;       // based on newSalary - currentSalary
+    private String lastUpdated;
+
+    /**
+     * Nested class for the distribution of one increase measure, excluding zero increases
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Distribution {
+        private long count;            // Number of employees with an increase
+        private BigDecimal minimum;
+        private BigDecimal p10;
+        private BigDecimal p25;
+        private BigDecimal median;
+        private BigDecimal p75;
+        private BigDecimal p90;
+        private BigDecimal maximum;
+        private List<HistogramBin> histogram;
+    }
+
+    /**
+     * Nested class for one equal-width histogram bin
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HistogramBin {
+        private BigDecimal from;       // inclusive
+        private BigDecimal to;         // exclusive, inclusive for the last bin
+        private long count;            // Estimated number of employees in the bin
+    }
+}
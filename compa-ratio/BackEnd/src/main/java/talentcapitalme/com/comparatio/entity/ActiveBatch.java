@@ -0,0 +1,35 @@
+package talentcapitalme.com.comparatio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-client pointer to the calculation result batch readers should see.
+ * The document id is the client id, so publishing a batch is a single-document update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "active_batches")
+public class ActiveBatch {
+
+    @Id
+    private String clientId;
+
+    private String batchId;          // batch currently served to readers
+    private long resultCount;        // number of calculation results in the active batch
+    private Instant publishedAt;
+    private long version;            // incremented on every publish
+
+    @Builder.Default
+    private List<RetiredBatch> retiredBatches = new ArrayList<>(); // superseded batches waiting for the reclaimer
+}
@@ -0,0 +1,31 @@
+package talentcapitalme.com.comparatio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Version counter of the cached data derived from one key of a collection, e.g. the matrices of one client.
+ * Bumped on every write when cache invalidation runs in polling mode; other nodes poll for recently updated
+ * counters and drop their cached snapshots of those keys.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "cache_versions")
+public class CacheVersion {
+
+    @Id
+    private String id;               // collection + ":" + key, or collection + ":*" when the whole collection changed
+
+    private String collection;       // changed collection, e.g. adjustment_matrix
+    private String key;              // client id for adjustment_matrix, user id for users; null for the whole collection
+    private long version;            // incremented on every change of the key
+    private Instant updatedAt;       // set by the database server, so all nodes compare against the same clock
+}
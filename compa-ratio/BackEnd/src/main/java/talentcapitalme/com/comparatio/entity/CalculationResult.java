@@ -7,6 +7,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 
@@ -30,8 +32,11 @@ public class CalculationResult extends Audit {
     private BigDecimal midOfScale;
     private BigDecimal compaRatio;
     private String compaLabel;
-    private BigDecimal increasePct;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal increasePct;     // numeric so analysis range queries can use an index
     private BigDecimal newSalary;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal increaseAmount;  // newSalary - currentSalary, precomputed for analysis range queries
 
 }
 
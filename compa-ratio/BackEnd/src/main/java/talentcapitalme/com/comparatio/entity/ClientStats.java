@@ -0,0 +1,57 @@
+package talentcapitalme.com.comparatio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rollup of one client's calculation result batch, written when the batch is persisted.
+ * The document id is {@code clientId:batchId}, so the dashboard reads it with a single keyed lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "client_stats")
+public class ClientStats {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String clientId;
+    private String batchId;
+    private Instant computedAt;
+
+    private long count;
+    private BigDecimal totalCurrentSalary;
+    private BigDecimal totalNewSalary;
+
+    private long increasePctCount;
+    private BigDecimal increasePctSum;
+    private BigDecimal increasePctMin;
+    private BigDecimal increasePctMax;
+    private List<Long> increasePctHistogram; // see ResultStatistics.INCREASE_PCT_BUCKET_BOUNDS
+
+    private long increaseAmountCount;
+    private BigDecimal increaseAmountSum;
+    private BigDecimal increaseAmountMin;
+    private BigDecimal increaseAmountMax;
+
+    private byte[] increasePctSketch;     // serialized IncreaseSketches, null for rollups recorded without them
+    private byte[] increaseAmountSketch;
+
+    private List<HeatmapCell> heatmap;    // null for rollups recorded without it
+
+    public static String idOf(String clientId, String batchId) {
+        return clientId + ":" + batchId;
+    }
+}
@@ -0,0 +1,25 @@
+package talentcapitalme.com.comparatio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totals of the calculation results of one batch that share a performance bucket and compa ratio range.
+ * Embedded in {@link ClientStats}; the cells of a batch mirror the {@link AdjustmentMatrix} layout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapCell {
+
+    private Integer perfBucket;
+    private String compaLabel;
+    private long headcount;
+    private BigDecimal totalCurrentSalary;
+    private BigDecimal totalIncrease;      // sum of newSalary - currentSalary
+}
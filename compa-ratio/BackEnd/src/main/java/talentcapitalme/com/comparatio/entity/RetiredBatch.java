@@ -0,0 +1,22 @@
+package talentcapitalme.com.comparatio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A superseded or discarded result batch waiting for the reclaimer.
+ * Embedded in {@link ActiveBatch}; the batch is only deleted once it has been retired for the grace period.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetiredBatch {
+
+    private String batchId;
+    private Instant retiredAt;       // when readers stopped being sent to this batch
+}
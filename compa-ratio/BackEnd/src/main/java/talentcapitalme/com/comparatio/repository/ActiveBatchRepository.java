@@ -0,0 +1,27 @@
+package talentcapitalme.com.comparatio.repository;
+
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import talentcapitalme.com.comparatio.entity.ActiveBatch;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for per-client active batch pointers
+ */
+public interface ActiveBatchRepository extends MongoRepository<ActiveBatch, String> {
+
+    /**
+     * Find pointers with at least one superseded batch retired at or before the cutoff
+     */
+    @Query("{ 'retiredBatches.retiredAt': { $lte: ?0 } }")
+    List<ActiveBatch> findWithBatchesRetiredBefore(Instant cutoff);
+
+    /**
+     * Sum the result counts of every client's active batch; null when there are no pointers
+     */
+    @Aggregation("{ $group: { _id: null, total: { $sum: '$resultCount' } } }")
+    Long sumResultCounts();
+}
@@ -10,16 +10,6 @@ import java.util.Optional;
 
 public interface AdjustmentMatrixRepository extends MongoRepository<AdjustmentMatrix, String> {
 
-    /** Find the active adjustment matrix cell for the given performance bucket and compa ratio.
-     *
-     * @param perfBucket The performance bucket (1-3).
-     * @param compa The compa ratio.
-     * @return An Optional containing the matching AdjustmentMatrix if found, otherwise empty.
-     */
-    @Query("{ 'perfBucket': ?0, 'active': true, " +
-            " 'compaFrom': { $lte: ?1 }, 'compaTo': { $gte: ?1 } }")
-    Optional<AdjustmentMatrix> findActiveCell(int perfBucket, BigDecimal compa);
-
     /**
      * Find all adjustment matrices for a specific client.
      *
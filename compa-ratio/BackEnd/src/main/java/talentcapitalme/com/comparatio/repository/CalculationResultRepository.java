@@ -1,22 +1,17 @@
 package talentcapitalme.com.comparatio.repository;
 
+import org.bson.types.Decimal128;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import talentcapitalme.com.comparatio.entity.CalculationResult;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface CalculationResultRepository extends MongoRepository<CalculationResult, String> {
-    List<CalculationResult> findByBatchId(String batchId);
-
     List<CalculationResult> findByClientIdAndBatchId(String clientId, String batchId);
 
-    // Find bulk calculation results only (exclude individual calculations)
-    List<CalculationResult> findByClientIdAndBatchIdAndBatchIdNotLike(String clientId, String batchId, String excludePattern);
-
     long countByClientId(String clientId);
 
     // Pageable queries for efficient database pagination
@@ -33,56 +28,30 @@ public interface CalculationResultRepository extends MongoRepository<Calculation
     // Cleanup specific batch: Delete all results for a specific batch
     long deleteByClientIdAndBatchId(String clientId, String batchId);
     
-    // Salary increase analysis - Percentage filters (using increasePct field)
-    // Converting to decimal for precise decimal handling
-    @Query("{ 'clientId': ?0, $expr: { $eq: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePct(String clientId, BigDecimal percentageIncrease, Pageable pageable);
-    
-    @Query("{ 'clientId': ?0, $expr: { $lt: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePctLessThan(String clientId, BigDecimal percentageIncrease, Pageable pageable);
-    
-    @Query("{ 'clientId': ?0, $expr: { $gt: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePctGreaterThan(String clientId, BigDecimal percentageIncrease, Pageable pageable);
-    
-    // Salary increase analysis - Dollar amount filters (calculated as newSalary - currentSalary)
-    // Using MongoDB aggregation expressions to filter by calculated field
-    // Converting string fields to decimal for precise decimal handling
-    @Query("{ 'clientId': ?0, $expr: { $eq: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseEquals(String clientId, BigDecimal salaryIncrease, Pageable pageable);
-    
-    @Query("{ 'clientId': ?0, $expr: { $lt: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseLessThan(String clientId, BigDecimal salaryIncrease, Pageable pageable);
-    
-    @Query("{ 'clientId': ?0, $expr: { $gt: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseGreaterThan(String clientId, BigDecimal salaryIncrease, Pageable pageable);
-    
+    // Salary increase analysis, scoped to one batch (increaseAmount = newSalary - currentSalary, rounded to cents)
+    // increasePct and increaseAmount are stored as Decimal128, so these are plain range predicates served by the
+    // (clientId, batchId, increasePct) and (clientId, batchId, increaseAmount) indexes; bounds are passed as Decimal128
     // Range filtering with equality (inclusive)
-    @Query("{ 'clientId': ?0, $expr: { $and: [ " +
-           "{ $gte: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] }, " +
-           "{ $lte: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?2 } ] } " +
-           "] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseBetween(String clientId, BigDecimal from, BigDecimal to, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increaseAmount': { $gte: ?2, $lte: ?3 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndSalaryIncreaseBetween(String clientId, String batchId, Decimal128 from, Decimal128 to, Pageable pageable);
     
     // Range filtering with equality for percentage increase (inclusive)
-    @Query("{ 'clientId': ?0, $expr: { $and: [ " +
-           "{ $gte: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] }, " +
-           "{ $lte: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?2 } ] } " +
-           "] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePctBetween(String clientId, BigDecimal from, BigDecimal to, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increasePct': { $gte: ?2, $lte: ?3 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndIncreasePctBetween(String clientId, String batchId, Decimal128 from, Decimal128 to, Pageable pageable);
     
     // Greater than or equal to for salary increase
-    @Query("{ 'clientId': ?0, $expr: { $gte: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseGreaterThanOrEqual(String clientId, BigDecimal salaryIncrease, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increaseAmount': { $gte: ?2 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndSalaryIncreaseGreaterThanOrEqual(String clientId, String batchId, Decimal128 salaryIncrease, Pageable pageable);
     
     // Less than or equal to for salary increase
-    @Query("{ 'clientId': ?0, $expr: { $lte: [ { $round: [ { $subtract: [{ $toDecimal: '$newSalary' }, { $toDecimal: '$currentSalary' }] }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndSalaryIncreaseLessThanOrEqual(String clientId, BigDecimal salaryIncrease, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increaseAmount': { $lte: ?2 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndSalaryIncreaseLessThanOrEqual(String clientId, String batchId, Decimal128 salaryIncrease, Pageable pageable);
     
     // Greater than or equal to for percentage increase
-    @Query("{ 'clientId': ?0, $expr: { $gte: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePctGreaterThanOrEqual(String clientId, BigDecimal percentageIncrease, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increasePct': { $gte: ?2 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndIncreasePctGreaterThanOrEqual(String clientId, String batchId, Decimal128 percentageIncrease, Pageable pageable);
     
     // Less than or equal to for percentage increase
-    @Query("{ 'clientId': ?0, $expr: { $lte: [ { $round: [ { $toDecimal: '$increasePct' }, 2 ] }, { $toDecimal: ?1 } ] } }")
-    Page<CalculationResult> findByClientIdAndIncreasePctLessThanOrEqual(String clientId, BigDecimal percentageIncrease, Pageable pageable);
+    @Query("{ 'clientId': ?0, 'batchId': ?1, 'increasePct': { $lte: ?2 } }")
+    Page<CalculationResult> findByClientIdAndBatchIdAndIncreasePctLessThanOrEqual(String clientId, String batchId, Decimal128 percentageIncrease, Pageable pageable);
 }
\ No newline at end of file
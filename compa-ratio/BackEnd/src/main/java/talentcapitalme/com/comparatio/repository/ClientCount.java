@@ -0,0 +1,9 @@
+package talentcapitalme.com.comparatio.repository;
+
+import org.springframework.data.annotation.Id;
+
+/**
+ * Number of documents belonging to one client, as produced by a $group on clientId
+ */
+public record ClientCount(@Id String clientId, long count) {
+}
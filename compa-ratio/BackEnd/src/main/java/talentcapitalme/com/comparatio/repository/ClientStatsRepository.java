@@ -0,0 +1,10 @@
+package talentcapitalme.com.comparatio.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import talentcapitalme.com.comparatio.entity.ClientStats;
+
+/**
+ * Repository for per-client, per-batch statistics rollups
+ */
+public interface ClientStatsRepository extends MongoRepository<ClientStats, String> {
+}
@@ -1,8 +1,19 @@
 package talentcapitalme.com.comparatio.repository;
 
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import talentcapitalme.com.comparatio.entity.Employee;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface EmployeeRepository extends MongoRepository<Employee, String> {
     long countByClientId(String clientId);
+
+    // Employee counts of several clients in one round trip; clients without employees are omitted
+    @Aggregation(pipeline = {
+            "{ $match: { clientId: { $in: ?0 } } }",
+            "{ $group: { _id: '$clientId', count: { $sum: 1 } } }"
+    })
+    List<ClientCount> countGroupedByClientId(Collection<String> clientIds);
 }
\ No newline at end of file
@@ -40,11 +40,6 @@ public interface UploadHistoryRepository extends MongoRepository<UploadHistory,
      */
     List<UploadHistory> findByClientIdAndStatusOrderByCreatedAtDesc(String clientId, UploadHistory.UploadStatus status);
     
-    /**
-     * Find upload history by uploaded by user
-     */
-    List<UploadHistory> findByUploadedByOrderByCreatedAtDesc(String uploadedBy);
-    
     /**
      * Find upload history within date range
      */
@@ -15,9 +15,10 @@ public interface UserRepository extends MongoRepository<User, String> {
     
     // Methods for CLIENT_ADMIN users (replacing Client functionality)
     Optional<User> findByName(String name);
-    List<User> findByActiveTrue();
     List<User> findByRoleAndActiveTrue(UserRole role);
     List<User> findByRole(UserRole role);
     Page<User> findByRole(UserRole role, Pageable pageable);
+    long countByRole(UserRole role);
+    long countByRoleAndActiveTrue(UserRole role);
     boolean existsByName(String name);
 }
\ No newline at end of file
@@ -12,6 +12,34 @@ import talentcapitalme.com.comparatio.exception.UnauthorizedException;
  */
 public class Authz {
     
+    /**
+     * Snapshot of the current authenticated user, computed once when the request was authenticated
+     */
+    public static PrincipalSnapshot current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getSnapshot();
+        }
+        throw new UnauthorizedException("Invalid user details");
+    }
+
+    /**
+     * Snapshot of the current authenticated user, or null for anonymous requests
+     */
+    public static PrincipalSnapshot currentOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return null;
+        }
+        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getSnapshot();
+        }
+        return null;
+    }
+
     /**
      * Get the current authenticated user's role
      */
@@ -20,8 +48,16 @@ public class Authz {
         if (auth == null || !auth.isAuthenticated()) {
             throw new UnauthorizedException("User not authenticated");
         }
-        
-        // Extract role from authorities (format: ROLE_ADMIN -> ADMIN)
+
+        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            UserRole role = userDetails.getSnapshot().role();
+            if (role == null) {
+                throw new UnauthorizedException("No valid role found");
+            }
+            return role;
+        }
+
+        // Other principals: extract role from authorities (format: ROLE_ADMIN -> ADMIN)
         return auth.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .filter(authority -> authority.startsWith("ROLE_"))
@@ -37,37 +73,14 @@ public class Authz {
      * For SUPER_ADMIN users, this returns null (they can access any client)
      */
     public static String getCurrentUserClientId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-        
-        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
-            UserRole role = getCurrentUserRole();
-            if (role == UserRole.CLIENT_ADMIN) {
-                return userDetails.getId(); // CLIENT_ADMIN users use their own ID as client ID
-            } else {
-                return null; // SUPER_ADMIN users have no client restriction
-            }
-        }
-        
-        throw new UnauthorizedException("Invalid user details");
+        return current().clientId();
     }
 
     /**
      * Get the current authenticated user's id
      */
     public static String getCurrentUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new UnauthorizedException("User not authenticated");
-        }
-
-        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
-            return userDetails.getId();
-        }
-
-        throw new UnauthorizedException("Invalid user details");
+        return current().userId();
     }
     
     /**
@@ -92,8 +105,9 @@ public class Authz {
      * If user is CLIENT_ADMIN, they can only access their own client (their user ID)
      */
     public static String requireClientScope(String requestedClientId) {
-        UserRole role = getCurrentUserRole();
-        String userClientId = getCurrentUserClientId();
+        PrincipalSnapshot principal = current();
+        UserRole role = principal.role();
+        String userClientId = principal.clientId();
         
         if (role == UserRole.SUPER_ADMIN) {
             // Super admin can access any client, but must specify which one
@@ -0,0 +1,31 @@
+package talentcapitalme.com.comparatio.security;
+
+import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+
+/**
+ * Immutable view of the authenticated caller, built once when the request's principal is created
+ * (by the JWT filter or at login) and read through {@link Authz#current()}.
+ *
+ * @param userId   the user's id
+ * @param email    the user's email
+ * @param role     the user's role, null if the account has none
+ * @param clientId the tenant the user is restricted to: its own id for CLIENT_ADMIN, null for SUPER_ADMIN
+ * @param scale    the user's performance rating scale
+ * @param currency the user's currency
+ */
+public record PrincipalSnapshot(String userId, String email, UserRole role, String clientId,
+                                PerformanceRatingScale scale, Currency currency) {
+
+    /**
+     * Snapshot of a user; CLIENT_ADMIN users use their own id as client id
+     */
+    public static PrincipalSnapshot of(User user) {
+        UserRole role = user.getRole();
+        return new PrincipalSnapshot(user.getId(), user.getEmail(), role,
+                role == UserRole.CLIENT_ADMIN ? user.getId() : null,
+                user.getPerformanceRatingScale(), user.getCurrency());
+    }
+}
@@ -2,6 +2,7 @@ package talentcapitalme.com.comparatio.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -79,6 +80,7 @@ public class AuthService implements IAuthService {
     /**
      * Register a new user - handles both initial admin and regular user registration
      */
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public User registerUser(RegisterRequest request) {
         // Check if this is the first user (no SUPER_ADMIN exists yet)
         boolean isFirstUser = userRepository.findByRole(talentcapitalme.com.comparatio.enumeration.UserRole.SUPER_ADMIN).isEmpty();
@@ -0,0 +1,27 @@
+package talentcapitalme.com.comparatio.service;
+
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+
+/**
+ * Tenant settings for one bulk upload, resolved once before the first row is read.
+ * Rows are validated and calculated against this snapshot, so the row pipeline never reads users
+ * or matrices from the database.
+ *
+ * @param clientId the tenant the results belong to (null for SUPER_ADMIN uploads)
+ * @param clientName display name of the tenant, used for upload history
+ * @param userId the uploading user
+ * @param userEmail email of the uploading user, used for upload history
+ * @param ratingScale the uploading user's performance rating scale
+ * @param currency the tenant's currency
+ * @param matrixIndex snapshot of the tenant's active adjustment matrix
+ */
+public record BatchContext(
+        String clientId,
+        String clientName,
+        String userId,
+        String userEmail,
+        PerformanceRatingScale ratingScale,
+        Currency currency,
+        MatrixIndex matrixIndex) {
+}
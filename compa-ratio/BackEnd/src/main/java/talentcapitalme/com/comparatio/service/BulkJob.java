@@ -0,0 +1,80 @@
+package talentcapitalme.com.comparatio.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight asynchronous bulk upload.
+ * Holds the live row counter and the cancellation flag shared between the job thread, the row workers
+ * and the HTTP threads polling or cancelling the job.
+ */
+public class BulkJob {
+
+    private final String batchId;
+    private final String clientId;
+    private final String fileName;
+    private final Path uploadFile;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicInteger processedRows = new AtomicInteger();
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    public BulkJob(String batchId, String clientId, String fileName, Path uploadFile) {
+        this.batchId = batchId;
+        this.clientId = clientId;
+        this.fileName = fileName;
+        this.uploadFile = uploadFile;
+    }
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Path getUploadFile() {
+        return uploadFile;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public int getProcessedRows() {
+        return processedRows.get();
+    }
+
+    /**
+     * Record rows evaluated by a worker
+     */
+    public void addProcessedRows(int rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * Ask the job to stop; parsing and row evaluation check the flag and stop at the next row or chunk
+     */
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+}
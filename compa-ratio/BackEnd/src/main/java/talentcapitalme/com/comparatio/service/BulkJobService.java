@@ -0,0 +1,203 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import talentcapitalme.com.comparatio.dto.BulkJobResponse;
+import talentcapitalme.com.comparatio.dto.BulkResponse;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+import talentcapitalme.com.comparatio.entity.UploadHistory;
+import talentcapitalme.com.comparatio.exception.NotFoundException;
+import talentcapitalme.com.comparatio.exception.UnauthorizedException;
+import talentcapitalme.com.comparatio.exception.ValidationException;
+import talentcapitalme.com.comparatio.security.Authz;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs bulk calculations in the background.
+ *
+ * The upload is spooled to a temporary file and the tenant settings are resolved on the request thread,
+ * then the parse/calculate/persist pipeline runs on the bulk job pool. Progress and the final outcome are
+ * recorded on the batch's upload history: UPLOADING -> PROCESSING -> COMPLETED/PARTIAL/FAILED/CANCELLED.
+ * The result workbook is downloaded through the regular /api/calc/bulk/{batchId} route once the job is done.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkJobService implements IBulkJobService {
+
+    private static final int MAX_RECORDED_ERRORS = 100;
+
+    private final ExcelProcessingService excelProcessingService;
+    private final IUploadHistoryService uploadHistoryService;
+    private final ExecutorService bulkJobExecutor;
+
+    private final Map<String, BulkJob> activeJobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BulkJob> jobsByClient = new ConcurrentHashMap<>(); // one queued or running job per client
+
+    /**
+     * Accept an upload and queue it for background processing
+     */
+    public BulkJobResponse submit(MultipartFile file) throws IOException {
+        excelProcessingService.validateExcelFile(file);
+        BatchContext context = excelProcessingService.resolveBatchContext();
+        if (context.clientId() == null) {
+            throw new ValidationException("Asynchronous bulk processing requires a client account");
+        }
+        String batchId = Instant.now().toString();
+        String fileName = file.getOriginalFilename();
+        Path uploadFile = Files.createTempFile("bulk-upload-", fileName.substring(fileName.lastIndexOf('.')));
+        BulkJob job = new BulkJob(batchId, context.clientId(), fileName, uploadFile);
+        // Claim the client's slot atomically, so concurrent uploads from one client cannot both start
+        if (jobsByClient.putIfAbsent(context.clientId(), job) != null) {
+            deleteUploadFile(job);
+            throw new ValidationException("A bulk calculation is already running for this client");
+        }
+
+        try {
+            file.transferTo(uploadFile);
+            // The job is tracked through its history, so it is not queued without one
+            uploadHistoryService.createUploadHistory(context.clientId(), context.clientName(), fileName, fileName,
+                    batchId, context.userId(), context.userEmail());
+        } catch (IOException | RuntimeException e) {
+            release(job);
+            throw e;
+        }
+        activeJobs.put(batchId, job);
+        try {
+            job.setFuture(bulkJobExecutor.submit(() -> run(job, context)));
+        } catch (RejectedExecutionException e) {
+            release(job);
+            uploadHistoryService.markUploadFailed(batchId, "Bulk job queue is full");
+            throw new ValidationException("Too many bulk calculations are queued, please try again later");
+        }
+
+        log.info("Queued bulk job {} for client {} ({} bytes)", batchId, context.clientId(), file.getSize());
+        return toResponse(job, uploadHistoryService.getUploadHistoryByBatch(batchId).orElse(null));
+    }
+
+    /**
+     * Get the current state of a job, with the live row counter while it is running
+     */
+    public BulkJobResponse getStatus(String batchId) {
+        UploadHistory history = getAccessibleHistory(batchId);
+        return toResponse(activeJobs.get(batchId), history);
+    }
+
+    /**
+     * Request cancellation. A queued job is cancelled immediately; a running job stops at the next row
+     * or chunk boundary and never saves its results.
+     */
+    public BulkJobResponse cancel(String batchId) {
+        UploadHistory history = getAccessibleHistory(batchId);
+        BulkJob job = activeJobs.get(batchId);
+        if (job == null) {
+            throw new ValidationException("Bulk job " + batchId + " has already finished with status " + history.getStatus());
+        }
+
+        job.requestCancel();
+        if (job.getFuture() != null && job.getFuture().cancel(false)) {
+            // never started, so run() will not clean up after it
+            release(job);
+            history = uploadHistoryService.markUploadCancelled(batchId, 0);
+        }
+        log.info("Cancellation requested for bulk job {}", batchId);
+        return toResponse(activeJobs.get(batchId), history);
+    }
+
+    private void run(BulkJob job, BatchContext context) {
+        String batchId = job.getBatchId();
+        long start = System.currentTimeMillis();
+        try {
+            uploadHistoryService.markProcessing(batchId, Files.size(job.getUploadFile()));
+            BulkResponse response = excelProcessingService.processBatch(job, context);
+
+            List<String> errors = response.getRows().stream()
+                    .filter(row -> row.getError() != null)
+                    .limit(MAX_RECORDED_ERRORS)
+                    .map(BulkJobService::describeError)
+                    .toList();
+            uploadHistoryService.updateUploadHistory(batchId, response.getTotalRows(), response.getTotalRows(),
+                    response.getSuccessCount(), response.getErrorCount(), System.currentTimeMillis() - start,
+                    null, errors);
+            log.info("Bulk job {} finished in {} ms: {} rows, {} errors", batchId,
+                    System.currentTimeMillis() - start, response.getTotalRows(), response.getErrorCount());
+        } catch (CancellationException e) {
+            uploadHistoryService.markUploadCancelled(batchId, job.getProcessedRows());
+        } catch (Exception e) {
+            log.error("Bulk job {} failed", batchId, e);
+            uploadHistoryService.markUploadFailed(batchId, e.getMessage());
+        } finally {
+            release(job);
+        }
+    }
+
+    /**
+     * Forget a finished, cancelled or rejected job and free its client's slot
+     */
+    private void release(BulkJob job) {
+        activeJobs.remove(job.getBatchId());
+        jobsByClient.remove(job.getClientId(), job);
+        deleteUploadFile(job);
+    }
+
+    private UploadHistory getAccessibleHistory(String batchId) {
+        UploadHistory history = uploadHistoryService.getUploadHistoryByBatch(batchId)
+                .orElseThrow(() -> new NotFoundException("Bulk job not found: " + batchId));
+        String clientId = Authz.getCurrentUserClientId();
+        if (clientId != null && !clientId.equals(history.getClientId())) {
+            throw new UnauthorizedException("Access denied to bulk job: " + batchId);
+        }
+        return history;
+    }
+
+    private BulkJobResponse toResponse(BulkJob job, UploadHistory history) {
+        BulkJobResponse.BulkJobResponseBuilder response = BulkJobResponse.builder();
+        if (history != null) {
+            response.batchId(history.getBatchId())
+                    .fileName(history.getOriginalFileName())
+                    .status(history.getStatus())
+                    .totalRows(history.getTotalRows())
+                    .processedRows(history.getProcessedRows())
+                    .successRows(history.getSuccessRows())
+                    .errorRows(history.getErrorRows())
+                    .processingTimeMs(history.getProcessingTimeMs())
+                    .errorMessage(history.getErrorMessage())
+                    .createdAt(history.getCreatedAt())
+                    .updatedAt(history.getUpdatedAt());
+            if (history.isSuccessful()) {
+                response.resultUrl("/api/calc/bulk/" + history.getBatchId());
+            }
+        }
+        if (job != null) {
+            response.batchId(job.getBatchId())
+                    .fileName(job.getFileName())
+                    .processedRows(job.getProcessedRows());
+        }
+        return response.build();
+    }
+
+    private static String describeError(BulkRowResult row) {
+        return "Row " + row.getRowIndex() + ": " + row.getError();
+    }
+
+    private void deleteUploadFile(BulkJob job) {
+        try {
+            Files.deleteIfExists(job.getUploadFile());
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload {}: {}", job.getUploadFile(), e.getMessage());
+        }
+    }
+}
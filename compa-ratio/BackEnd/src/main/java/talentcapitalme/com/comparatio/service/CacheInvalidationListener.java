@@ -0,0 +1,64 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.entity.User;
+
+import java.util.Collection;
+
+import static talentcapitalme.com.comparatio.service.CacheInvalidationService.MATRIX_COLLECTION;
+import static talentcapitalme.com.comparatio.service.CacheInvalidationService.USER_COLLECTION;
+
+/**
+ * Publishes the matrix and user writes made through this node to the other nodes, see
+ * {@link CacheInvalidationService#publish(String, String)}
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener extends AbstractMongoEventListener<Object> {
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof AdjustmentMatrix matrix) {
+            cacheInvalidationService.publish(MATRIX_COLLECTION, matrix.getClientId());
+        } else if (event.getSource() instanceof User user) {
+            cacheInvalidationService.publish(USER_COLLECTION, user.getId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        String collection = event.getCollectionName();
+        if (!MATRIX_COLLECTION.equals(collection) && !USER_COLLECTION.equals(collection)) {
+            return;
+        }
+        Document filter = event.getSource();
+        if (MATRIX_COLLECTION.equals(collection) && filter.get("clientId") instanceof String clientId) {
+            cacheInvalidationService.publish(collection, clientId);
+            return;
+        }
+        Object id = filter.get("_id");
+        if (id instanceof Document operators && operators.get("$in") instanceof Collection<?> ids) {
+            ids.forEach(each -> cacheInvalidationService.publish(collection, keyOf(collection, each)));
+        } else {
+            cacheInvalidationService.publish(collection, keyOf(collection, id));
+        }
+    }
+
+    /**
+     * Cache key of a deleted document id, null to drop the whole collection when it is not a plain id
+     */
+    private static String keyOf(String collection, Object id) {
+        if (MATRIX_COLLECTION.equals(collection)) {
+            return CacheInvalidationService.clientIdOfMatrixId(id);
+        }
+        return id instanceof String value ? value : null;
+    }
+}
@@ -0,0 +1,391 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.config.AppProperties.CacheInvalidation.Mode;
+import talentcapitalme.com.comparatio.entity.CacheVersion;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops cached matrices and user data on every node when the adjustment_matrix or users collections change.
+ *
+ * Each node follows a change stream on both collections when the server supports them (replica sets), so a write
+ * made through any node, or directly in the database, evicts the affected client's or user's snapshots within
+ * the stream latency. When the server reports that change streams are unsupported (standalone) it falls back to
+ * polling {@link CacheVersion} counters every app.cacheInvalidation.pollIntervalMs. Every node bumps the counters
+ * when it writes, whichever way it receives changes itself, so a node that ended up polling still sees writes made
+ * through nodes following streams. The node making a change also evicts its own caches immediately through
+ * {@code @CacheEvict}; this only carries the change to the other nodes.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationService implements SmartLifecycle {
+
+    public static final String MATRIX_COLLECTION = "adjustment_matrix";
+    public static final String USER_COLLECTION = "users";
+
+    /**
+     * Caches derived from each collection; matrix caches are keyed by client id, user caches by user id
+     */
+    private static final Map<String, List<String>> CACHES = Map.of(
+            MATRIX_COLLECTION, List.of("matrices", "matrixIndexes"),
+            USER_COLLECTION, List.of("users"));
+
+    private static final String MATRIX_ID_SEPARATOR = "_m_";
+    private static final String WHOLE_COLLECTION = "*";
+    private static final long STREAM_IDLE_MS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final UserStatusService userStatusService;
+    private final AppProperties.CacheInvalidation properties;
+
+    private final Map<String, MongoChangeStreamCursor<ChangeStreamDocument<Document>>> cursors = new HashMap<>();
+    private final Map<String, CacheVersion> seenVersions = new HashMap<>();
+    private volatile Mode activeMode = Mode.OFF;
+    private volatile boolean running;
+    private ExecutorService streamExecutor;
+    private ScheduledExecutorService pollExecutor;
+    private Instant pollWatermark = Instant.EPOCH;
+
+    public CacheInvalidationService(MongoTemplate mongoTemplate, CacheManager cacheManager,
+                                    UserStatusService userStatusService, AppProperties appProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.userStatusService = userStatusService;
+        this.properties = appProperties.getCacheInvalidation();
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        Mode mode = properties.getMode();
+        if (mode == Mode.OFF) {
+            log.info("Cross-node cache invalidation is disabled");
+            return;
+        }
+        if (mode == Mode.POLL) {
+            startPolling();
+            return;
+        }
+        streamExecutor = Executors.newFixedThreadPool(CACHES.size(),
+                Thread.ofPlatform().daemon().name("cache-invalidation-stream-", 0).factory());
+        // Opening waits for server selection while Mongo is unreachable, so it must not hold up startup
+        streamExecutor.execute(this::openStreams);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        activeMode = Mode.OFF;
+        closeCursors();
+        if (streamExecutor != null) {
+            streamExecutor.shutdownNow();
+            streamExecutor = null;
+        }
+        if (pollExecutor != null) {
+            pollExecutor.shutdownNow();
+            pollExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * How changes from other nodes are currently received: CHANGE_STREAM, POLL, or OFF when stopped, disabled or
+     * still waiting for the server
+     */
+    public Mode getActiveMode() {
+        return activeMode;
+    }
+
+    /**
+     * Record a write to a collection so that polling nodes drop their snapshots of the key.
+     * Published whatever this node's own active mode is, since other nodes may be polling. Never fails the caller's write.
+     *
+     * @param key client id for adjustment_matrix, user id for users; null when the whole collection may have changed
+     */
+    public void publish(String collection, String key) {
+        if (properties.getMode() == Mode.OFF || !CACHES.containsKey(collection)) {
+            return;
+        }
+        try {
+            String id = collection + ":" + (key != null ? key : WHOLE_COLLECTION);
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)),
+                    new Update().set("collection", collection).set("key", key).inc("version", 1).currentDate("updatedAt"),
+                    CacheVersion.class);
+        } catch (Exception e) {
+            log.warn("Could not publish cache version of {} {}: {}", collection, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop this node's cached snapshots of one key of a collection, or of the whole collection when the key is null
+     */
+    public void invalidateLocal(String collection, String key) {
+        for (String cacheName : CACHES.getOrDefault(collection, List.of())) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            if (key != null) {
+                cache.evict(key);
+            } else {
+                cache.clear();
+            }
+        }
+        if (USER_COLLECTION.equals(collection)) {
+            if (key != null) {
+                userStatusService.evict(key);
+            } else {
+                userStatusService.evictAll();
+            }
+        }
+        log.debug("Invalidated cached {} {}", collection, key != null ? key : WHOLE_COLLECTION);
+    }
+
+    /**
+     * Client id of a matrix cell id generated as clientId_m_bucket_from_to, null for any other id
+     */
+    public static String clientIdOfMatrixId(Object id) {
+        if (!(id instanceof String value)) {
+            return null;
+        }
+        int separator = value.indexOf(MATRIX_ID_SEPARATOR);
+        return separator > 0 ? value.substring(0, separator) : null;
+    }
+
+    /**
+     * Open a change stream on every collection and follow them. Connection failures are retried every
+     * streamRetryMs for as long as the node runs; only a server that rejects change streams switches it to polling.
+     */
+    private void openStreams() {
+        while (running) {
+            try {
+                for (String collection : CACHES.keySet()) {
+                    MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openStream(collection, null);
+                    synchronized (this) {
+                        if (!running) {
+                            closeQuietly(cursor);
+                            return;
+                        }
+                        cursors.put(collection, cursor);
+                    }
+                }
+                break;
+            } catch (MongoException e) {
+                closeCursors();
+                if (changeStreamsUnsupported(e)) {
+                    log.warn("Change streams unsupported ({}), polling cache versions instead", e.getMessage());
+                    synchronized (this) {
+                        if (running) {
+                            startPolling();
+                        }
+                    }
+                    return;
+                }
+                log.warn("Could not open change streams, retrying in {} ms: {}", properties.getStreamRetryMs(),
+                        e.getMessage());
+                try {
+                    Thread.sleep(properties.getStreamRetryMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            cursors.forEach((collection, cursor) -> streamExecutor.execute(() -> follow(collection, cursor)));
+            activeMode = Mode.CHANGE_STREAM;
+        }
+        // Snapshots loaded before the streams opened may have missed changes
+        CACHES.keySet().forEach(collection -> invalidateLocal(collection, null));
+        log.info("Cache invalidation follows change streams on {}", CACHES.keySet());
+    }
+
+    /**
+     * Whether the server answered that it cannot serve change streams, as opposed to not being reachable
+     */
+    private static boolean changeStreamsUnsupported(MongoException e) {
+        return e instanceof MongoCommandException
+                && !(e instanceof MongoNotPrimaryException)
+                && !(e instanceof MongoNodeIsRecoveringException);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openStream(String collection, BsonDocument resumeToken) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    private void follow(String collection, MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        BsonDocument resumeToken = null;
+        while (running) {
+            try {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    Thread.sleep(STREAM_IDLE_MS);
+                    continue;
+                }
+                resumeToken = change.getResumeToken();
+                invalidateLocal(collection, keyOf(collection, change));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change stream on {} failed, reopening: {}", collection, e.getMessage());
+                closeQuietly(cursor);
+                // Changes made while the stream was down may be missed if it cannot resume
+                invalidateLocal(collection, null);
+                cursor = reopen(collection, resumeToken);
+                if (cursor == null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> reopen(String collection, BsonDocument resumeToken) {
+        while (running) {
+            try {
+                Thread.sleep(properties.getStreamRetryMs());
+                MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+                try {
+                    cursor = openStream(collection, resumeToken);
+                } catch (MongoException e) {
+                    // The resume point may have left the oplog; start from now
+                    cursor = openStream(collection, null);
+                }
+                synchronized (this) {
+                    if (!running) {
+                        closeQuietly(cursor);
+                        return null;
+                    }
+                    cursors.put(collection, cursor);
+                }
+                return cursor;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                log.warn("Could not reopen change stream on {}: {}", collection, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache key affected by a change, null when it cannot be told and the whole collection must be dropped
+     */
+    private static String keyOf(String collection, ChangeStreamDocument<Document> change) {
+        Document fullDocument = change.getFullDocument();
+        BsonDocument documentKey = change.getDocumentKey();
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (MATRIX_COLLECTION.equals(collection)) {
+            String clientId = fullDocument != null ? fullDocument.getString("clientId") : null;
+            if (clientId == null && id != null && id.isString()) {
+                clientId = clientIdOfMatrixId(id.asString().getValue());
+            }
+            return clientId;
+        }
+        return id != null && id.isString() ? id.asString().getValue() : null;
+    }
+
+    private void startPolling() {
+        try {
+            CacheVersion latest = mongoTemplate.findOne(new Query()
+                    .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                    .limit(1), CacheVersion.class);
+            pollWatermark = latest != null && latest.getUpdatedAt() != null ? latest.getUpdatedAt() : Instant.EPOCH;
+        } catch (Exception e) {
+            // The first poll then applies every recorded change once, which only costs a few cache misses
+            log.warn("Could not read the latest cache version: {}", e.getMessage());
+        }
+        pollExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("cache-invalidation-poll").factory());
+        pollExecutor.scheduleWithFixedDelay(this::poll, properties.getPollIntervalMs(), properties.getPollIntervalMs(),
+                TimeUnit.MILLISECONDS);
+        activeMode = Mode.POLL;
+        log.info("Cache invalidation polls cache versions every {} ms", properties.getPollIntervalMs());
+    }
+
+    /**
+     * Apply the counters updated since the last poll. Each poll looks pollLagMs further back than the newest
+     * counter seen, so a write committed after a later one is not missed; counters already applied at the same
+     * version are skipped.
+     */
+    synchronized void poll() {
+        try {
+            Instant since = pollWatermark.minusMillis(properties.getPollLagMs());
+            List<CacheVersion> changed = mongoTemplate.find(
+                    Query.query(Criteria.where("updatedAt").gte(since)), CacheVersion.class);
+            for (CacheVersion version : changed) {
+                CacheVersion seen = seenVersions.get(version.getId());
+                if (seen == null || seen.getVersion() != version.getVersion()) {
+                    invalidateLocal(version.getCollection(), version.getKey());
+                    seenVersions.put(version.getId(), version);
+                }
+                if (version.getUpdatedAt() != null && version.getUpdatedAt().isAfter(pollWatermark)) {
+                    pollWatermark = version.getUpdatedAt();
+                }
+            }
+            seenVersions.values().removeIf(seen -> seen.getUpdatedAt() == null || seen.getUpdatedAt().isBefore(since));
+        } catch (Exception e) {
+            log.warn("Polling cache versions failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void closeCursors() {
+        cursors.values().forEach(CacheInvalidationService::closeQuietly);
+        cursors.clear();
+    }
+
+    private static void closeQuietly(MongoChangeStreamCursor<?> cursor) {
+        try {
+            cursor.close();
+        } catch (Exception ignored) {
+            // Already closed or connection gone
+        }
+    }
+}
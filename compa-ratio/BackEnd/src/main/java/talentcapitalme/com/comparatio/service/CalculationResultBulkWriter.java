@@ -0,0 +1,116 @@
+package talentcapitalme.com.comparatio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Persists bulk calculation results with chunked, unordered Mongo bulk inserts.
+ *
+ * Chunks of {@code app.bulk.persistChunkSize} documents are inserted on the bulk persist pool while the
+ * calling thread maps the next chunk, keeping at most one chunk per batch in flight.
+ * Records per-chunk latency ({@code calculation.persist.chunk}) and per-batch throughput
+ * ({@code calculation.persist.throughput}, documents per second).
+ */
+@Slf4j
+@Service
+public class CalculationResultBulkWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final ExecutorService bulkPersistExecutor;
+    private final AppProperties appProperties;
+    private final Timer chunkTimer;
+    private final Counter documentCounter;
+    private final DistributionSummary throughput;
+
+    public CalculationResultBulkWriter(MongoTemplate mongoTemplate,
+                                       @Qualifier("bulkPersistExecutor") ExecutorService bulkPersistExecutor,
+                                       AppProperties appProperties,
+                                       MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.bulkPersistExecutor = bulkPersistExecutor;
+        this.appProperties = appProperties;
+        this.chunkTimer = Timer.builder("calculation.persist.chunk")
+                .description("Time taken to insert one chunk of calculation results")
+                .register(meterRegistry);
+        this.documentCounter = Counter.builder("calculation.persist.documents")
+                .description("Number of calculation results inserted")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("calculation.persist.throughput")
+                .description("Calculation results inserted per second for one batch")
+                .baseUnit("documents/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Map and insert all sources as new calculation_results documents
+     *
+     * @param sources the rows to persist, in order
+     * @param mapper converts a row to its document; runs on the calling thread
+     * @return the number of documents inserted
+     */
+    public <T> int insertAll(List<T> sources, Function<T, CalculationResult> mapper) {
+        if (sources.isEmpty()) {
+            return 0;
+        }
+        int chunkSize = Math.max(1, appProperties.getBulk().getPersistChunkSize());
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < sources.size(); from += chunkSize) {
+            List<T> chunk = sources.subList(from, Math.min(from + chunkSize, sources.size()));
+            List<CalculationResult> documents = new ArrayList<>(chunk.size());
+            for (T source : chunk) {
+                CalculationResult document = mapper.apply(source);
+                document.setCreatedAt(now);
+                document.setUpdatedAt(now);
+                documents.add(document);
+            }
+
+            await(inFlight); // previous chunk must finish before the next one is sent
+            inFlight = CompletableFuture.runAsync(() -> insertChunk(documents), bulkPersistExecutor);
+        }
+        await(inFlight);
+
+        double seconds = Math.max((System.nanoTime() - start) / 1_000_000_000.0, 1e-9);
+        throughput.record(sources.size() / seconds);
+        log.info("Inserted {} calculation results in {} ms ({} docs/s)", sources.size(),
+                Math.round(seconds * 1000), Math.round(sources.size() / seconds));
+        return sources.size();
+    }
+
+    private void insertChunk(List<CalculationResult> documents) {
+        chunkTimer.record(() -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CalculationResult.class)
+                .insert(documents)
+                .execute());
+        documentCounter.increment(documents.size());
+    }
+
+    private static void await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
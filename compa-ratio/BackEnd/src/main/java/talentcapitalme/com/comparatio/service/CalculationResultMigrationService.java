@@ -0,0 +1,113 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.ClientStats;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings existing calculation_results documents up to the current storage format on startup.
+ *
+ * Documents written before the analysis fields were numeric hold increasePct as a string and have no
+ * increaseAmount. They are converted in place with a single server-side pipeline update, after which
+ * the analysis range queries can use the (clientId, batchId, increasePct/increaseAmount) indexes
+ * declared in {@link talentcapitalme.com.comparatio.config.MongoIndexRegistry}.
+ *
+ * Bulk results used to compare the whole-percent compa ratio with fractional label bounds, so every row above 1%
+ * was labelled "> 115%". Those rows are relabelled from their stored compaRatio, and the heatmaps cached in the
+ * statistics rollups are dropped so they are aggregated again from the corrected labels.
+ */
+@Slf4j
+@Service
+@Order(2)
+@RequiredArgsConstructor
+public class CalculationResultMigrationService implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            migrateIncreaseFields();
+            migrateCompaLabels();
+        } catch (Exception e) {
+            log.error("Error migrating calculation results", e);
+        }
+    }
+
+    /**
+     * Relabel results mislabelled "> 115%" from their compa ratio, and drop the heatmaps built from them
+     */
+    long migrateCompaLabels() {
+        List<String> labels = ExcelProcessingService.COMPA_LABELS;
+        List<BigDecimal> bounds = ExcelProcessingService.COMPA_LABEL_BOUNDS;
+        String topLabel = labels.get(bounds.size());
+        Document compaPercent = new Document("$toDecimal", "$compaRatio");
+        Decimal128 topBound = new Decimal128(bounds.get(bounds.size() - 1));
+        BasicQuery mislabelled = new BasicQuery(new Document()
+                .append("compaLabel", topLabel)
+                .append("compaRatio", new Document("$ne", null))
+                .append("$expr", new Document("$lt", List.of(compaPercent, topBound))));
+
+        List<Document> branches = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            branches.add(new Document("case", new Document("$lt", List.of(compaPercent, new Decimal128(bounds.get(i)))))
+                    .append("then", labels.get(i)));
+        }
+        Document label = new Document("$switch", new Document("branches", branches).append("default", topLabel));
+        AggregationOperation setStage = context -> new Document("$set", new Document("compaLabel", label));
+
+        UpdateResult result = mongoTemplate.updateMulti(mislabelled, AggregationUpdate.from(List.of(setStage)),
+                mongoTemplate.getCollectionName(CalculationResult.class));
+        if (result.getModifiedCount() > 0) {
+            log.info("Relabelled the compa ratio range of {} calculation results", result.getModifiedCount());
+            UpdateResult rollups = mongoTemplate.updateMulti(Query.query(Criteria.where("heatmap").exists(true)),
+                    new Update().unset("heatmap"), ClientStats.class);
+            log.info("Dropped {} heatmaps built from the old labels", rollups.getModifiedCount());
+        }
+        return result.getModifiedCount();
+    }
+
+    /**
+     * Store increasePct as Decimal128 and add the precomputed increaseAmount where it is missing
+     */
+    long migrateIncreaseFields() {
+        BasicQuery legacy = new BasicQuery(new Document("$or", List.of(
+                new Document("increasePct", new Document("$type", "string")),
+                new Document("increaseAmount", new Document("$exists", false)))));
+
+        Document increaseAmount = new Document("$round", List.of(
+                new Document("$subtract", List.of(
+                        new Document("$toDecimal", "$newSalary"),
+                        new Document("$toDecimal", "$currentSalary"))),
+                2));
+        Document set = new Document()
+                .append("increasePct", new Document("$toDecimal", "$increasePct"))
+                .append("increaseAmount", increaseAmount);
+        AggregationOperation setStage = context -> new Document("$set", set);
+
+        UpdateResult result = mongoTemplate.updateMulti(legacy, AggregationUpdate.from(List.of(setStage)),
+                mongoTemplate.getCollectionName(CalculationResult.class));
+        if (result.getModifiedCount() > 0) {
+            log.info("Migrated increasePct/increaseAmount of {} calculation results", result.getModifiedCount());
+        }
+        return result.getModifiedCount();
+    }
+}
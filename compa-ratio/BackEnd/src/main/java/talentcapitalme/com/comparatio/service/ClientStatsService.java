@@ -0,0 +1,286 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.dto.ClientStatsConsistency;
+import talentcapitalme.com.comparatio.entity.ActiveBatch;
+import talentcapitalme.com.comparatio.entity.ClientStats;
+import talentcapitalme.com.comparatio.entity.HeatmapCell;
+import talentcapitalme.com.comparatio.repository.ActiveBatchRepository;
+import talentcapitalme.com.comparatio.repository.ClientStatsRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the client_stats rollup: one {@link ClientStats} document per client and batch.
+ *
+ * The rollup is computed while a batch is persisted, before it is published, so the dashboard reads
+ * the active batch's statistics by key instead of scanning calculation_results. Rollups of retired
+ * batches are removed together with their results by {@link ResultBatchService#reclaimRetiredBatches()}.
+ * Each rollup also carries the {@link IncreaseSketches} of its batch, which are merged on demand for percentiles,
+ * and its compa ratio by performance bucket heatmap.
+ */
+@Slf4j
+@Service
+@Order(3)
+@RequiredArgsConstructor
+public class ClientStatsService implements CommandLineRunner {
+
+    private final ClientStatsRepository clientStatsRepository;
+    private final ActiveBatchRepository activeBatchRepository;
+    private final ResultBatchService resultBatchService;
+
+    /**
+     * Store the rollup of a batch, replacing any previous rollup of the same batch
+     */
+    public void record(String clientId, String batchId, ResultStatistics stats) {
+        clientStatsRepository.save(toRollup(clientId, batchId, stats));
+        log.debug("Recorded statistics rollup for client {} batch {} ({} results)", clientId, batchId, stats.getCount());
+    }
+
+    /**
+     * Get the statistics of the client's active batch from its rollup.
+     * A missing rollup (e.g. a batch saved before rollups existed) is recomputed and stored.
+     */
+    public ResultStatistics getActiveStatistics(String clientId) {
+        String batchId = resultBatchService.getActiveBatchId(clientId);
+        if (batchId == null) {
+            return ResultStatistics.EMPTY;
+        }
+        return clientStatsRepository.findById(ClientStats.idOf(clientId, batchId))
+                .map(ClientStatsService::toStatistics)
+                .orElseGet(() -> rebuildBatch(clientId, batchId));
+    }
+
+    /**
+     * Merge the increase sketches of the active batch of one client, or of every client when clientId is null.
+     * Sketches are merged one rollup at a time, so memory stays bounded by the sketch size.
+     */
+    public IncreaseSketches getActiveSketches(String clientId) {
+        List<ActiveBatch> pointers = activePointers(clientId);
+        Map<String, ClientStats> rollups = new HashMap<>();
+        clientStatsRepository.findAllById(pointers.stream()
+                        .map(p -> ClientStats.idOf(p.getClientId(), p.getBatchId()))
+                        .collect(Collectors.toList()))
+                .forEach(rollup -> rollups.put(rollup.getId(), rollup));
+
+        IncreaseSketches merged = new IncreaseSketches();
+        for (ActiveBatch pointer : pointers) {
+            ClientStats rollup = rollups.get(ClientStats.idOf(pointer.getClientId(), pointer.getBatchId()));
+            if (rollup == null) {
+                ResultStatistics stats = rebuildBatch(pointer.getClientId(), pointer.getBatchId());
+                merged.merge(IncreaseSketches.fromBytes(stats.getIncreasePctSketch(), stats.getIncreaseAmountSketch()));
+            } else {
+                merged.merge(IncreaseSketches.fromBytes(rollup.getIncreasePctSketch(), rollup.getIncreaseAmountSketch()));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Get the (perfBucket, compaLabel) totals of one of the client's batches from its rollup.
+     * Rollups recorded without them get them from a single aggregation and are updated; batches without a
+     * rollup (not yet published) are aggregated without storing anything.
+     */
+    public List<HeatmapCell> getHeatmap(String clientId, String batchId) {
+        ClientStats rollup = clientStatsRepository.findById(ClientStats.idOf(clientId, batchId)).orElse(null);
+        if (rollup != null && rollup.getHeatmap() != null) {
+            return rollup.getHeatmap();
+        }
+        List<HeatmapCell> heatmap = resultBatchService.aggregateHeatmap(clientId, batchId);
+        if (rollup != null) {
+            rollup.setHeatmap(heatmap);
+            clientStatsRepository.save(rollup);
+        }
+        return heatmap;
+    }
+
+    /**
+     * Recompute the rollup of the active batch of one client, or of every client when clientId is null
+     *
+     * @return the number of rollups written
+     */
+    public int rebuild(String clientId) {
+        int rebuilt = 0;
+        for (ActiveBatch pointer : activePointers(clientId)) {
+            try {
+                rebuildBatch(pointer.getClientId(), pointer.getBatchId());
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Error rebuilding statistics rollup for client {}", pointer.getClientId(), e);
+            }
+        }
+        log.info("Rebuilt {} statistics rollups", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Compare the rollup of the active batch of one client, or of every client when clientId is null,
+     * with a full recompute from calculation_results
+     */
+    public List<ClientStatsConsistency> check(String clientId) {
+        List<ClientStatsConsistency> results = new ArrayList<>();
+        for (ActiveBatch pointer : activePointers(clientId)) {
+            ClientStats rollup = clientStatsRepository
+                    .findById(ClientStats.idOf(pointer.getClientId(), pointer.getBatchId()))
+                    .orElse(null);
+            ResultStatistics recomputed = resultBatchService.summarizeBatch(pointer.getClientId(), pointer.getBatchId());
+            List<String> mismatches = rollup != null ? mismatchedFields(toStatistics(rollup), recomputed) : List.of();
+            if (rollup == null || !mismatches.isEmpty()) {
+                log.warn("Statistics rollup of client {} batch {} is inconsistent: present={}, mismatches={}",
+                        pointer.getClientId(), pointer.getBatchId(), rollup != null, mismatches);
+            }
+            results.add(ClientStatsConsistency.builder()
+                    .clientId(pointer.getClientId())
+                    .batchId(pointer.getBatchId())
+                    .rollupPresent(rollup != null)
+                    .consistent(rollup != null && mismatches.isEmpty())
+                    .rollupCount(rollup != null ? rollup.getCount() : 0)
+                    .recomputedCount(recomputed.getCount())
+                    .mismatchedFields(mismatches)
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Backfill rollups for active batches that do not have one yet
+     */
+    @Override
+    public void run(String... args) {
+        try {
+            List<ActiveBatch> pointers = activePointers(null);
+            Set<String> existing = new HashSet<>();
+            clientStatsRepository.findAllById(pointers.stream()
+                            .map(p -> ClientStats.idOf(p.getClientId(), p.getBatchId()))
+                            .collect(Collectors.toList()))
+                    .forEach(rollup -> existing.add(rollup.getId()));
+
+            int created = 0;
+            for (ActiveBatch pointer : pointers) {
+                if (!existing.contains(ClientStats.idOf(pointer.getClientId(), pointer.getBatchId()))) {
+                    rebuildBatch(pointer.getClientId(), pointer.getBatchId());
+                    created++;
+                }
+            }
+            if (created > 0) {
+                log.info("Backfilled statistics rollups for {} clients", created);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling statistics rollups", e);
+        }
+    }
+
+    private ResultStatistics rebuildBatch(String clientId, String batchId) {
+        ResultStatistics stats = resultBatchService.summarizeBatch(clientId, batchId);
+        if (stats.getIncreasePctSketch() == null) {
+            // The aggregation cannot build sketches; stream the increase fields for them
+            IncreaseSketches sketches = resultBatchService.sketchBatch(clientId, batchId);
+            stats = stats.toBuilder()
+                    .increasePctSketch(sketches.increasePctBytes())
+                    .increaseAmountSketch(sketches.increaseAmountBytes())
+                    .build();
+        }
+        if (stats.getHeatmap() == null) {
+            stats = stats.toBuilder().heatmap(resultBatchService.aggregateHeatmap(clientId, batchId)).build();
+        }
+        record(clientId, batchId, stats);
+        return stats;
+    }
+
+    private List<ActiveBatch> activePointers(String clientId) {
+        List<ActiveBatch> pointers = clientId != null
+                ? activeBatchRepository.findById(clientId).map(List::of).orElse(List.of())
+                : activeBatchRepository.findAll();
+        return pointers.stream()
+                .filter(pointer -> pointer.getBatchId() != null)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> mismatchedFields(ResultStatistics rollup, ResultStatistics recomputed) {
+        List<String> fields = new ArrayList<>();
+        expectEqual(fields, "count", rollup.getCount() == recomputed.getCount());
+        expectEqual(fields, "totalCurrentSalary", sameAmount(rollup.getTotalCurrentSalary(), recomputed.getTotalCurrentSalary()));
+        expectEqual(fields, "totalNewSalary", sameAmount(rollup.getTotalNewSalary(), recomputed.getTotalNewSalary()));
+        expectEqual(fields, "increasePctCount", rollup.getIncreasePctCount() == recomputed.getIncreasePctCount());
+        expectEqual(fields, "increasePctSum", sameAmount(rollup.getIncreasePctSum(), recomputed.getIncreasePctSum()));
+        expectEqual(fields, "increasePctMin", sameAmount(rollup.getIncreasePctMin(), recomputed.getIncreasePctMin()));
+        expectEqual(fields, "increasePctMax", sameAmount(rollup.getIncreasePctMax(), recomputed.getIncreasePctMax()));
+        expectEqual(fields, "increasePctHistogram", Objects.equals(rollup.getIncreasePctHistogram(), recomputed.getIncreasePctHistogram()));
+        expectEqual(fields, "increaseAmountCount", rollup.getIncreaseAmountCount() == recomputed.getIncreaseAmountCount());
+        expectEqual(fields, "increaseAmountSum", sameAmount(rollup.getIncreaseAmountSum(), recomputed.getIncreaseAmountSum()));
+        expectEqual(fields, "increaseAmountMin", sameAmount(rollup.getIncreaseAmountMin(), recomputed.getIncreaseAmountMin()));
+        expectEqual(fields, "increaseAmountMax", sameAmount(rollup.getIncreaseAmountMax(), recomputed.getIncreaseAmountMax()));
+        return fields;
+    }
+
+    private static void expectEqual(List<String> mismatches, String field, boolean equal) {
+        if (!equal) {
+            mismatches.add(field);
+        }
+    }
+
+    /**
+     * Numeric equality ignoring scale, since the aggregation and in-memory sums may differ in trailing zeros
+     */
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static ClientStats toRollup(String clientId, String batchId, ResultStatistics stats) {
+        return ClientStats.builder()
+                .id(ClientStats.idOf(clientId, batchId))
+                .clientId(clientId)
+                .batchId(batchId)
+                .computedAt(Instant.now())
+                .count(stats.getCount())
+                .totalCurrentSalary(stats.getTotalCurrentSalary())
+                .totalNewSalary(stats.getTotalNewSalary())
+                .increasePctCount(stats.getIncreasePctCount())
+                .increasePctSum(stats.getIncreasePctSum())
+                .increasePctMin(stats.getIncreasePctMin())
+                .increasePctMax(stats.getIncreasePctMax())
+                .increasePctHistogram(stats.getIncreasePctHistogram())
+                .increaseAmountCount(stats.getIncreaseAmountCount())
+                .increaseAmountSum(stats.getIncreaseAmountSum())
+                .increaseAmountMin(stats.getIncreaseAmountMin())
+                .increaseAmountMax(stats.getIncreaseAmountMax())
+                .increasePctSketch(stats.getIncreasePctSketch())
+                .increaseAmountSketch(stats.getIncreaseAmountSketch())
+                .heatmap(stats.getHeatmap())
+                .build();
+    }
+
+    private static ResultStatistics toStatistics(ClientStats rollup) {
+        return ResultStatistics.builder()
+                .count(rollup.getCount())
+                .totalCurrentSalary(rollup.getTotalCurrentSalary())
+                .totalNewSalary(rollup.getTotalNewSalary())
+                .increasePctCount(rollup.getIncreasePctCount())
+                .increasePctSum(rollup.getIncreasePctSum())
+                .increasePctMin(rollup.getIncreasePctMin())
+                .increasePctMax(rollup.getIncreasePctMax())
+                .increasePctHistogram(rollup.getIncreasePctHistogram() != null
+                        ? rollup.getIncreasePctHistogram() : ResultStatistics.EMPTY.getIncreasePctHistogram())
+                .increaseAmountCount(rollup.getIncreaseAmountCount())
+                .increaseAmountSum(rollup.getIncreaseAmountSum())
+                .increaseAmountMin(rollup.getIncreaseAmountMin())
+                .increaseAmountMax(rollup.getIncreaseAmountMax())
+                .increasePctSketch(rollup.getIncreasePctSketch())
+                .increaseAmountSketch(rollup.getIncreaseAmountSketch())
+                .heatmap(rollup.getHeatmap())
+                .build();
+    }
+}
@@ -7,12 +7,12 @@ import org.springframework.stereotype.Service;
 import talentcapitalme.com.comparatio.dto.CalcRequest;
 import talentcapitalme.com.comparatio.dto.CalcResponse;
 import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
 import talentcapitalme.com.comparatio.exception.MatrixNotFoundException;
 import talentcapitalme.com.comparatio.exception.ValidationException;
-import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
 import talentcapitalme.com.comparatio.security.Authz;
+import talentcapitalme.com.comparatio.util.FixedPointMoney;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 // Handles individual compensation calculations
 @Slf4j
@@ -20,33 +20,35 @@ import java.math.RoundingMode;
 @RequiredArgsConstructor
 public class CompensationService implements ICompensationService {
 
-    private final AdjustmentMatrixRepository matrixRepo;
+    private static final BigDecimal OPEN_ENDED_COMPA = new BigDecimal("9.99");
+
+    private final MatrixIndexService matrixIndexService;
     private final PerformanceRatingService performanceRatingService;
 
     @Timed(value = "calculation.time", description = "Time taken for compensation calculations")
     @Counted(value = "calculation.count", description = "Number of compensation calculations performed")
     public CalcResponse calculate(CalcRequest req) {
-        validateCalculationRequest(req);
+        PerformanceRatingScale scale = performanceRatingService.getUserPerformanceRatingScale();
+        validateCalculationRequest(req, scale);
         
         String clientId = Authz.getCurrentUserClientId();
-        BigDecimal compa = req.getCurrentSalary()
-                .divide(req.getMidOfScale(), 6, RoundingMode.HALF_UP);
+        BigDecimal compa = FixedPointMoney.compaRatio(req.getCurrentSalary(), req.getMidOfScale());
 
-        int perfBucket = performanceRatingService.calculatePerformanceBucket(req.getPerformanceRating());
+        int perfBucket = performanceRatingService.calculatePerformanceBucket(req.getPerformanceRating(), scale);
 
-        AdjustmentMatrix cell = matrixRepo.findClientActiveCell(perfBucket, compa, clientId)
-                .orElseThrow(() -> new MatrixNotFoundException("No adjustment matrix found for client '" + clientId + 
-                    "'. Please contact your administrator to set up compensation matrices."));
+        AdjustmentMatrix cell = matrixIndexService.getIndex(clientId).findCell(perfBucket, compa);
+        if (cell == null) {
+            throw new MatrixNotFoundException("No adjustment matrix found for client '" + clientId + 
+                    "'. Please contact your administrator to set up compensation matrices.");
+        }
 
         BigDecimal pct = (req.getYearsExperience() < 5) ? cell.getPctLt5Years() : cell.getPctGte5Years();
-        BigDecimal newSalary = req.getCurrentSalary()
-                .multiply(BigDecimal.ONE.add(pct.movePointLeft(2)))
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal newSalary = FixedPointMoney.newSalary(req.getCurrentSalary(), pct);
         
         return new CalcResponse(compa, compaLabel(cell), pct, newSalary);
     }
 
-    private void validateCalculationRequest(CalcRequest req) {
+    private void validateCalculationRequest(CalcRequest req, PerformanceRatingScale scale) {
         if (req == null) {
             throw new ValidationException("Calculation request cannot be null");
         }
@@ -71,8 +73,7 @@ public class CompensationService implements ICompensationService {
             throw new ValidationException("Mid of scale must be positive");
         }
         // Validate performance rating against user's scale
-        if (!performanceRatingService.isValidPerformanceRating(req.getPerformanceRating())) {
-            var scale = performanceRatingService.getUserPerformanceRatingScale();
+        if (!performanceRatingService.isValidPerformanceRating(req.getPerformanceRating(), scale)) {
             throw new ValidationException(String.format("Performance rating must be between 1 and %d for %s", 
                     scale.getMaxRating(), scale.getDisplayName()));
         }
@@ -87,9 +88,9 @@ public class CompensationService implements ICompensationService {
     }
 
     private String compaLabel(AdjustmentMatrix c) {
-        BigDecimal from = c.getCompaFrom().multiply(BigDecimal.valueOf(100));
-        BigDecimal to = c.getCompaTo().multiply(BigDecimal.valueOf(100));
-        boolean open = c.getCompaTo().compareTo(BigDecimal.valueOf(9.99)) >= 0; // treat >= 9.99 as +
+        BigDecimal from = c.getCompaFrom().movePointRight(2);
+        BigDecimal to = c.getCompaTo().movePointRight(2);
+        boolean open = c.getCompaTo().compareTo(OPEN_ENDED_COMPA) >= 0; // treat >= 9.99 as +
         return open ? from.stripTrailingZeros().toPlainString() + "%+"
                 : from.stripTrailingZeros().toPlainString() + "%–" + to.stripTrailingZeros().toPlainString() + "%";
     }
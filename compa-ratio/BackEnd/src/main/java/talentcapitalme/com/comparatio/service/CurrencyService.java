@@ -1,11 +1,8 @@
 package talentcapitalme.com.comparatio.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import talentcapitalme.com.comparatio.entity.User;
 import talentcapitalme.com.comparatio.enumeration.Currency;
-import talentcapitalme.com.comparatio.repository.UserRepository;
 import talentcapitalme.com.comparatio.security.Authz;
 
 import java.math.BigDecimal;
@@ -18,19 +15,14 @@ import java.util.Locale;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CurrencyService {
 
-    private final UserRepository userRepository;
-
     /**
-     * Get the currency for the current user/client
+     * Get the currency for the current user/client, from the request's principal snapshot
      */
     public Currency getUserCurrency() {
-        String clientId = Authz.getCurrentUserClientId();
-        return userRepository.findById(clientId)
-                .map(User::getCurrency)
-                .orElse(Currency.USD); // Default to USD
+        Currency currency = Authz.current().currency();
+        return currency != null ? currency : Currency.USD; // Default to USD
     }
 
     /**
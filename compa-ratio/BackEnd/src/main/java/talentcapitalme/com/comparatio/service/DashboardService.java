@@ -1,7 +1,11 @@
 package talentcapitalme.com.comparatio.service;
 
 import lombok.RequiredArgsConstructor;
+import com.tdunning.math.stats.TDigest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -10,21 +14,30 @@ import org.springframework.stereotype.Service;
 import talentcapitalme.com.comparatio.dto.ClientAccountSummary;
 import talentcapitalme.com.comparatio.dto.ClientAccountsResponse;
 import talentcapitalme.com.comparatio.dto.ClientDashboardStatistics;
+import talentcapitalme.com.comparatio.dto.ClientStatsConsistency;
+import talentcapitalme.com.comparatio.dto.CompaHeatmap;
 import talentcapitalme.com.comparatio.dto.DashboardResponse;
 import talentcapitalme.com.comparatio.dto.DashboardStats;
-import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.dto.IncreasePercentiles;
+import talentcapitalme.com.comparatio.entity.HeatmapCell;
 import talentcapitalme.com.comparatio.entity.User;
 import talentcapitalme.com.comparatio.enumeration.UserRole;
 import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
-import talentcapitalme.com.comparatio.repository.CalculationResultRepository;
+import talentcapitalme.com.comparatio.repository.ClientCount;
 import talentcapitalme.com.comparatio.repository.EmployeeRepository;
 import talentcapitalme.com.comparatio.repository.UserRepository;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
@@ -35,10 +48,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardService implements IDashboardService {
 
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int MAX_HISTOGRAM_BINS = 50;
+    private static final List<Integer> PERF_BUCKETS = List.of(1, 2, 3);
+    private static final String DASHBOARD_STATS_KEY = "platform"; // single entry of the dashboardStats cache
+
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
-    private final CalculationResultRepository calculationResultRepository;
+    private final ResultBatchService resultBatchService;
+    private final ClientStatsService clientStatsService;
     private final AdjustmentMatrixRepository matrixRepository;
+    private final UserStatusService userStatusService;
+    private final CacheManager cacheManager;
 
     /**
      * Get dashboard data with pagination
@@ -55,9 +76,7 @@ public class DashboardService implements IDashboardService {
         Page<User> clientUsers = userRepository.findByRole(UserRole.CLIENT_ADMIN, pageable);
         
         // Convert to ClientAccountSummary
-        List<ClientAccountSummary> clientAccounts = clientUsers.getContent().stream()
-                .map(this::enrichClientAccount)
-                .collect(Collectors.toList());
+        List<ClientAccountSummary> clientAccounts = enrichClientAccounts(clientUsers.getContent());
         
         // Get dashboard statistics
         DashboardStats stats = getDashboardStats();
@@ -83,9 +102,7 @@ public class DashboardService implements IDashboardService {
         
         List<User> clientUsers = userRepository.findByRole(UserRole.CLIENT_ADMIN);
         
-        return clientUsers.stream()
-                .map(this::enrichClientAccount)
-                .collect(Collectors.toList());
+        return enrichClientAccounts(clientUsers);
     }
 
     /**
@@ -104,9 +121,7 @@ public class DashboardService implements IDashboardService {
         Page<User> clientUsers = userRepository.findByRole(UserRole.CLIENT_ADMIN, pageable);
         
         // Convert to ClientAccountSummary
-        List<ClientAccountSummary> clientAccounts = clientUsers.getContent().stream()
-                .map(this::enrichClientAccount)
-                .collect(Collectors.toList());
+        List<ClientAccountSummary> clientAccounts = enrichClientAccounts(clientUsers.getContent());
         
         // Build response
         return ClientAccountsResponse.builder()
@@ -138,6 +153,10 @@ public class DashboardService implements IDashboardService {
     /**
      * Toggle client account status (active/inactive)
      */
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#clientId"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public ClientAccountSummary toggleClientStatus(String clientId) {
         log.info("Toggling client status for ID: {}", clientId);
         
@@ -153,31 +172,35 @@ public class DashboardService implements IDashboardService {
         clientUser.setActive(newStatus);
         
         User savedUser = userRepository.save(clientUser);
+        userStatusService.evict(clientId);
         log.info("Client status toggled to: {}", newStatus);
         
         return enrichClientAccount(savedUser);
     }
 
     /**
-     * Get dashboard statistics
+     * Get dashboard statistics from the dashboardStats cache, calculating them on a miss
      */
     private DashboardStats getDashboardStats() {
+        return cacheManager.getCache("dashboardStats").get(DASHBOARD_STATS_KEY, this::calculateDashboardStats);
+    }
+
+    /**
+     * Calculate dashboard statistics with a fixed number of count queries, independent of the number of clients
+     */
+    private DashboardStats calculateDashboardStats() {
         log.debug("Calculating dashboard statistics");
         
-        // Get all client admin users
-        List<User> allClients = userRepository.findByRole(UserRole.CLIENT_ADMIN);
-        
-        int totalClients = allClients.size();
-        int activeClients = (int) allClients.stream()
-                .filter(user -> user.getActive() != null && user.getActive())
-                .count();
+        // Count client admin users
+        int totalClients = (int) userRepository.countByRole(UserRole.CLIENT_ADMIN);
+        int activeClients = (int) userRepository.countByRoleAndActiveTrue(UserRole.CLIENT_ADMIN);
         int inactiveClients = totalClients - activeClients;
         
         // Get total employees across all clients
         int totalEmployees = (int) employeeRepository.count();
         
-        // Get total calculations
-        int totalCalculations = (int) calculationResultRepository.count();
+        // Get total calculations across every client's active batch
+        int totalCalculations = (int) resultBatchService.countAllActiveResults();
         
         // Get total matrices
         int totalMatrices = (int) matrixRepository.count();
@@ -198,17 +221,35 @@ public class DashboardService implements IDashboardService {
     }
 
     /**
-     * Enrich client account with additional data
+     * Enrich one client account with additional data
      */
     private ClientAccountSummary enrichClientAccount(User user) {
+        return enrichClientAccounts(List.of(user)).get(0);
+    }
+
+    /**
+     * Enrich client accounts with their employee and calculation counts.
+     * Uses one grouped count per collection for all accounts instead of one count per account.
+     */
+    private List<ClientAccountSummary> enrichClientAccounts(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<String> clientIds = users.stream().map(User::getId).collect(Collectors.toList());
+        Map<String, Long> employeeCounts = employeeRepository.countGroupedByClientId(clientIds).stream()
+                .collect(Collectors.toMap(ClientCount::clientId, ClientCount::count));
+        Map<String, Long> calculationCounts = resultBatchService.countActiveResults(clientIds);
+        
+        return users.stream()
+                .map(user -> enrichClientAccount(user,
+                        employeeCounts.getOrDefault(user.getId(), 0L).intValue(),
+                        calculationCounts.getOrDefault(user.getId(), 0L).intValue()))
+                .collect(Collectors.toList());
+    }
+
+    private ClientAccountSummary enrichClientAccount(User user, int employeeCount, int calculationCount) {
         log.debug("Enriching client account for user: {}", user.getUsername());
         
-        // Get employee count for this client
-        int employeeCount = (int) employeeRepository.countByClientId(user.getId());
-        
-        // Get calculation count for this client
-        int calculationCount = (int) calculationResultRepository.countByClientId(user.getId());
-        
         // Calculate rating based on performance (placeholder logic)
         String rating = calculateRating(employeeCount, calculationCount);
         
@@ -255,41 +296,46 @@ public class DashboardService implements IDashboardService {
     public ClientDashboardStatistics getClientDashboardStatistics(String clientId) {
         log.info("Fetching dashboard statistics for client: {}", clientId);
         
-        // Fetch all calculation results for this client
-        List<CalculationResult> results = calculationResultRepository.findByClientId(clientId, Pageable.unpaged()).getContent();
+        // Totals, min/max/sums and histogram of the client's active batch, read from its rollup
+        ResultStatistics stats = clientStatsService.getActiveStatistics(clientId);
         
         // If no results found, return empty statistics
-        if (results == null || results.isEmpty()) {
+        if (stats.getCount() == 0) {
             log.warn("No calculation results found for client: {}", clientId);
             return buildEmptyStatistics(clientId);
         }
         
-        log.info("Found {} calculation results for client: {}", results.size(), clientId);
+        log.info("Found {} calculation results for client: {}", stats.getCount(), clientId);
         
         // Calculate basic metrics
-        int totalEmployees = results.size();
-        BigDecimal totalCurrentSalary = results.stream()
-                .map(CalculationResult::getCurrentSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalNewSalary = results.stream()
-                .map(CalculationResult::getNewSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalEmployees = (int) stats.getCount();
+        BigDecimal totalCurrentSalary = stats.getTotalCurrentSalary();
+        BigDecimal totalNewSalary = stats.getTotalNewSalary();
         
         // Calculate total percentage change: ((totalNew - totalOld) / totalOld) * 100
         BigDecimal totalPercentageChange = BigDecimal.ZERO;
         if (totalCurrentSalary.compareTo(BigDecimal.ZERO) > 0) {
             totalPercentageChange = totalNewSalary.subtract(totalCurrentSalary)
                     .divide(totalCurrentSalary, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
+                    .multiply(HUNDRED)
                     .setScale(2, RoundingMode.HALF_UP);
         }
         
-        // Calculate Percentage Increase Analysis
-        ClientDashboardStatistics.PercentageIncreaseAnalysis percentageIncreaseAnalysis = calculatePercentageIncreaseAnalysis(results);
-        
-        // Calculate Amount Increase Analysis
-        ClientDashboardStatistics.AmountIncreaseAnalysis amountIncreaseAnalysis = calculateAmountIncreaseAnalysis(results);
+        // Percentage increase analysis (increasePct field, excluding zero values)
+        ClientDashboardStatistics.PercentageIncreaseAnalysis percentageIncreaseAnalysis =
+                ClientDashboardStatistics.PercentageIncreaseAnalysis.builder()
+                        .minimum(scaleOrZero(stats.getIncreasePctMin()))
+                        .maximum(scaleOrZero(stats.getIncreasePctMax()))
+                        .average(average(stats.getIncreasePctSum(), stats.getIncreasePctCount()))
+                        .build();
+        
+        // Amount increase analysis (newSalary - currentSalary, excluding zero values)
+        ClientDashboardStatistics.AmountIncreaseAnalysis amountIncreaseAnalysis =
+                ClientDashboardStatistics.AmountIncreaseAnalysis.builder()
+                        .minimum(scaleOrZero(stats.getIncreaseAmountMin()))
+                        .maximum(scaleOrZero(stats.getIncreaseAmountMax()))
+                        .average(average(stats.getIncreaseAmountSum(), stats.getIncreaseAmountCount()))
+                        .build();
         
         // Build and return the response
         return ClientDashboardStatistics.builder()
@@ -300,88 +346,190 @@ public class DashboardService implements IDashboardService {
                 .totalPercentageChange(totalPercentageChange)
                 .percentageIncreaseAnalysis(percentageIncreaseAnalysis)
                 .amountIncreaseAnalysis(amountIncreaseAnalysis)
+                .increaseDistribution(increaseDistribution(stats.getIncreasePctHistogram()))
                 .lastUpdated(Instant.now().toString())
                 .build();
     }
     
+    /**
+     * Label the increase histogram buckets, e.g. "5-10%"
+     */
+    private List<ClientDashboardStatistics.IncreaseBucket> increaseDistribution(List<Long> histogram) {
+        List<Integer> bounds = ResultStatistics.INCREASE_PCT_BUCKET_BOUNDS;
+        List<ClientDashboardStatistics.IncreaseBucket> buckets = new ArrayList<>(histogram.size());
+        for (int i = 0; i < histogram.size(); i++) {
+            int from = i == 0 ? 0 : bounds.get(i - 1);
+            String label = i < bounds.size() ? from + "-" + bounds.get(i) + "%" : from + "%+";
+            buckets.add(ClientDashboardStatistics.IncreaseBucket.builder()
+                    .label(label)
+                    .count(histogram.get(i))
+                    .build());
+        }
+        return buckets;
+    }
     
     /**
-     * Calculate Percentage Increase Analysis (min, max, average)
+     * Rebuild the statistics rollup of one client's active batch, or of every client
      */
-    private ClientDashboardStatistics.PercentageIncreaseAnalysis calculatePercentageIncreaseAnalysis(List<CalculationResult> results) {
-        // Get all percentage increases (from increasePct field), excluding zero values
-        List<BigDecimal> percentageIncreases = results.stream()
-                .map(CalculationResult::getIncreasePct)
-                .filter(pct -> pct != null && pct.compareTo(BigDecimal.ZERO) > 0)
-                .collect(Collectors.toList());
-        
-        if (percentageIncreases.isEmpty()) {
-            return ClientDashboardStatistics.PercentageIncreaseAnalysis.builder()
-                    .minimum(BigDecimal.ZERO)
-                    .maximum(BigDecimal.ZERO)
-                    .average(BigDecimal.ZERO)
+    public int rebuildClientStatistics(String clientId) {
+        log.info("Rebuilding client statistics rollups for client: {}", clientId != null ? clientId : "all");
+        return clientStatsService.rebuild(clientId);
+    }
+    
+    /**
+     * Compare statistics rollups with a full recompute of the active batches
+     */
+    public List<ClientStatsConsistency> checkClientStatistics(String clientId) {
+        log.info("Checking client statistics rollups for client: {}", clientId != null ? clientId : "all");
+        return clientStatsService.check(clientId);
+    }
+    
+    /**
+     * Get increase percentiles and histograms of one client's active batch, or of every client merged
+     * when clientId is null, estimated from the batches' quantile sketches
+     */
+    @Override
+    public IncreasePercentiles getIncreasePercentiles(String clientId, int bins) {
+        log.info("Fetching increase percentiles for client: {}", clientId != null ? clientId : "all");
+        int binCount = Math.max(1, Math.min(bins, MAX_HISTOGRAM_BINS));
+        IncreaseSketches sketches = clientStatsService.getActiveSketches(clientId);
+        return IncreasePercentiles.builder()
+                .clientId(clientId)
+                .percentageIncrease(distribution(sketches.getIncreasePct(), binCount))
+                .amountIncrease(distribution(sketches.getIncreaseAmount(), binCount))
+                .lastUpdated(Instant.now().toString())
+                .build();
+    }
+    
+    /**
+     * Quantiles and an equal-width histogram between minimum and maximum, all zero when there were no increases
+     */
+    private IncreasePercentiles.Distribution distribution(TDigest digest, int bins) {
+        long count = digest.size();
+        if (count == 0) {
+            return IncreasePercentiles.Distribution.builder()
+                    .minimum(BigDecimal.ZERO).p10(BigDecimal.ZERO).p25(BigDecimal.ZERO).median(BigDecimal.ZERO)
+                    .p75(BigDecimal.ZERO).p90(BigDecimal.ZERO).maximum(BigDecimal.ZERO)
+                    .histogram(List.of())
                     .build();
         }
         
-        BigDecimal minimum = percentageIncreases.stream()
-                .min(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-        
-        BigDecimal maximum = percentageIncreases.stream()
-                .max(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-        
-        BigDecimal sum = percentageIncreases.stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal average = sum.divide(BigDecimal.valueOf(percentageIncreases.size()), 2, RoundingMode.HALF_UP);
+        double min = digest.getMin();
+        double max = digest.getMax();
+        int binCount = max > min ? bins : 1;
+        double width = (max - min) / binCount;
+        List<IncreasePercentiles.HistogramBin> histogram = new ArrayList<>(binCount);
+        long previous = 0;
+        for (int i = 0; i < binCount; i++) {
+            double from = min + i * width;
+            double to = i == binCount - 1 ? max : from + width;
+            // Cumulative counts keep the bins summing to the total despite rounding
+            long cumulative = i == binCount - 1 ? count : Math.max(previous, Math.round(digest.cdf(to) * count));
+            histogram.add(IncreasePercentiles.HistogramBin.builder()
+                    .from(toCents(from))
+                    .to(toCents(to))
+                    .count(cumulative - previous)
+                    .build());
+            previous = cumulative;
+        }
         
-        return ClientDashboardStatistics.PercentageIncreaseAnalysis.builder()
-                .minimum(minimum.setScale(2, RoundingMode.HALF_UP))
-                .maximum(maximum.setScale(2, RoundingMode.HALF_UP))
-                .average(average)
+        return IncreasePercentiles.Distribution.builder()
+                .count(count)
+                .minimum(toCents(min))
+                .p10(toCents(digest.quantile(0.10)))
+                .p25(toCents(digest.quantile(0.25)))
+                .median(toCents(digest.quantile(0.50)))
+                .p75(toCents(digest.quantile(0.75)))
+                .p90(toCents(digest.quantile(0.90)))
+                .maximum(toCents(max))
+                .histogram(histogram)
                 .build();
     }
     
+    private static BigDecimal toCents(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+    
     /**
-     * Calculate Amount Increase Analysis (min, max, average)
+     * Get the compa ratio by performance bucket grid of one of the client's batches, or of its active batch
+     * when batchId is null, from the batch's rollup
      */
-    private ClientDashboardStatistics.AmountIncreaseAnalysis calculateAmountIncreaseAnalysis(List<CalculationResult> results) {
-        // Calculate amount increase for each result: newSalary - currentSalary, excluding zero values
-        List<BigDecimal> amountIncreases = results.stream()
-                .filter(r -> r.getCurrentSalary() != null && r.getNewSalary() != null)
-                .map(r -> r.getNewSalary().subtract(r.getCurrentSalary()))
-                .filter(amount -> amount.compareTo(BigDecimal.ZERO) > 0)
-                .collect(Collectors.toList());
-        
-        if (amountIncreases.isEmpty()) {
-            return ClientDashboardStatistics.AmountIncreaseAnalysis.builder()
-                    .minimum(BigDecimal.ZERO)
-                    .maximum(BigDecimal.ZERO)
-                    .average(BigDecimal.ZERO)
-                    .build();
+    @Override
+    public CompaHeatmap getCompaHeatmap(String clientId, String batchId) {
+        String effectiveBatchId = batchId != null ? batchId : resultBatchService.getActiveBatchId(clientId);
+        log.info("Fetching compa heatmap for client: {}, batch: {}", clientId, effectiveBatchId);
+        List<HeatmapCell> stored = effectiveBatchId != null
+                ? clientStatsService.getHeatmap(clientId, effectiveBatchId) : List.of();
+        
+        // Rows and columns of the matrix layout, plus any values only found in the data
+        Set<Integer> perfBuckets = new TreeSet<>(PERF_BUCKETS);
+        Set<String> compaLabels = new LinkedHashSet<>(ExcelProcessingService.COMPA_LABELS);
+        Map<List<Object>, HeatmapCell> byCell = new HashMap<>();
+        BigDecimal totalCurrent = BigDecimal.ZERO;
+        BigDecimal totalIncrease = BigDecimal.ZERO;
+        long totalHeadcount = 0;
+        for (HeatmapCell cell : stored) {
+            if (cell.getPerfBucket() != null) {
+                perfBuckets.add(cell.getPerfBucket());
+            }
+            compaLabels.add(cell.getCompaLabel());
+            byCell.put(Arrays.asList(cell.getPerfBucket(), cell.getCompaLabel()), cell);
+            totalHeadcount += cell.getHeadcount();
+            totalCurrent = totalCurrent.add(zeroIfNull(cell.getTotalCurrentSalary()));
+            totalIncrease = totalIncrease.add(zeroIfNull(cell.getTotalIncrease()));
         }
         
-        BigDecimal minimum = amountIncreases.stream()
-                .min(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-        
-        BigDecimal maximum = amountIncreases.stream()
-                .max(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-        
-        BigDecimal sum = amountIncreases.stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal average = sum.divide(BigDecimal.valueOf(amountIncreases.size()), 2, RoundingMode.HALF_UP);
+        List<CompaHeatmap.Cell> cells = new ArrayList<>(perfBuckets.size() * compaLabels.size());
+        for (Integer perfBucket : perfBuckets) {
+            for (String compaLabel : compaLabels) {
+                HeatmapCell cell = byCell.get(Arrays.asList(perfBucket, compaLabel));
+                BigDecimal increase = cell != null ? zeroIfNull(cell.getTotalIncrease()) : BigDecimal.ZERO;
+                cells.add(CompaHeatmap.Cell.builder()
+                        .perfBucket(perfBucket)
+                        .compaLabel(compaLabel)
+                        .headcount(cell != null ? cell.getHeadcount() : 0)
+                        .totalCurrentSalary(cell != null ? zeroIfNull(cell.getTotalCurrentSalary()) : BigDecimal.ZERO)
+                        .totalIncrease(increase)
+                        .increaseShare(totalIncrease.signum() != 0
+                                ? increase.multiply(HUNDRED).divide(totalIncrease, 2, RoundingMode.HALF_UP)
+                                : BigDecimal.ZERO)
+                        .build());
+            }
+        }
         
-        return ClientDashboardStatistics.AmountIncreaseAnalysis.builder()
-                .minimum(minimum.setScale(2, RoundingMode.HALF_UP))
-                .maximum(maximum.setScale(2, RoundingMode.HALF_UP))
-                .average(average)
+        return CompaHeatmap.builder()
+                .clientId(clientId)
+                .batchId(effectiveBatchId)
+                .perfBuckets(new ArrayList<>(perfBuckets))
+                .compaLabels(new ArrayList<>(compaLabels))
+                .cells(cells)
+                .totalHeadcount(totalHeadcount)
+                .totalCurrentSalary(totalCurrent)
+                .totalIncrease(totalIncrease)
                 .build();
     }
     
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+    
+    /**
+     * Round a minimum/maximum to cents, zero when there were no increases
+     */
+    private BigDecimal scaleOrZero(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+    
+    /**
+     * Average rounded to cents, zero when there were no increases
+     */
+    private BigDecimal average(BigDecimal sum, long count) {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+    
     /**
      * Build empty statistics when no calculation results are found
      */
@@ -402,6 +550,7 @@ public class DashboardService implements IDashboardService {
                         .maximum(BigDecimal.ZERO)
                         .average(BigDecimal.ZERO)
                         .build())
+                .increaseDistribution(increaseDistribution(ResultStatistics.EMPTY.getIncreasePctHistogram()))
                 .lastUpdated(Instant.now().toString())
                 .build();
     }
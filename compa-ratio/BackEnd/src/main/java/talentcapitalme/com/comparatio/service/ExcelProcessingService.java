@@ -2,29 +2,37 @@ package talentcapitalme.com.comparatio.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import talentcapitalme.com.comparatio.config.AppProperties;
 import talentcapitalme.com.comparatio.dto.BulkResponse;
 import talentcapitalme.com.comparatio.dto.BulkRowResult;
 import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
 import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.Currency;
 import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
-import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
-import talentcapitalme.com.comparatio.repository.CalculationResultRepository;
 import talentcapitalme.com.comparatio.repository.UserRepository;
 import talentcapitalme.com.comparatio.security.Authz;
+import talentcapitalme.com.comparatio.util.ExcelRowData;
+import talentcapitalme.com.comparatio.util.ExcelResultWriter;
+import talentcapitalme.com.comparatio.util.ExcelRowReader;
+import talentcapitalme.com.comparatio.util.FixedPointMoney;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // Processes Excel files for bulk compensation calculations
 @Slf4j
@@ -32,53 +40,90 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ExcelProcessingService implements IExcelProcessingService {
 
-    private final AdjustmentMatrixRepository matrixRepo;
-    private final CalculationResultRepository resultRepo;
+    /**
+     * Compa ratio ranges assigned to bulk results, in ascending order
+     */
+    public static final List<String> COMPA_LABELS = List.of("< 71%", "71% - 85%", "85% - 100%", "100% - 115%", "> 115%");
+
+    /**
+     * Exclusive upper bounds of all but the last of {@link #COMPA_LABELS}, in whole percent like
+     * {@link FixedPointMoney#compaPercent}
+     */
+    public static final List<BigDecimal> COMPA_LABEL_BOUNDS = List.of(
+            BigDecimal.valueOf(71), BigDecimal.valueOf(85), BigDecimal.valueOf(100), BigDecimal.valueOf(115));
+
     private final UploadHistoryService uploadHistoryService;
     private final UserRepository userRepository;
     private final PerformanceRatingService performanceRatingService;
+    private final ExcelRowReader excelRowReader;
+    private final MatrixIndexService matrixIndexService;
+    private final ExecutorService bulkRowExecutor;
+    private final AppProperties appProperties;
+    private final CalculationResultBulkWriter resultBulkWriter;
+    private final ResultBatchService resultBatchService;
+    private final ClientStatsService clientStatsService;
 
     public BulkResponse processExcelFile(MultipartFile file) throws IOException {
-        String clientId = Authz.getCurrentUserClientId();
         String batchId = Instant.now().toString();
         
         validateExcelFile(file);
-        createUploadHistory(clientId, file, batchId);
-        List<BulkRowResult> results = processExcelData(file, clientId, batchId);
-        saveCalculationResults(results, clientId, batchId);
+        BatchContext context = resolveBatchContext();
+        createUploadHistory(context, file.getOriginalFilename(), batchId);
+        List<BulkRowResult> results;
+        try (InputStream inputStream = file.getInputStream()) {
+            results = processExcelData(inputStream, file.getOriginalFilename(), file.getSize(), context, batchId, null);
+        }
+        saveCalculationResults(results, context, batchId);
         return buildBulkResponse(results, batchId);
     }
 
+    /**
+     * Process an upload that was spooled to disk by an asynchronous bulk job.
+     * Runs off the request thread, so everything tenant specific comes from the batch context.
+     * Throws {@link CancellationException} if the job is cancelled before results are saved.
+     */
+    public BulkResponse processBatch(BulkJob job, BatchContext context) throws IOException {
+        List<BulkRowResult> results;
+        try (InputStream inputStream = Files.newInputStream(job.getUploadFile())) {
+            results = processExcelData(inputStream, job.getFileName(), Files.size(job.getUploadFile()),
+                    context, job.getBatchId(), job);
+        }
+        if (job.isCancelRequested()) {
+            throw new CancellationException("Bulk job " + job.getBatchId() + " was cancelled");
+        }
+        saveCalculationResults(results, context, job.getBatchId());
+        return buildBulkResponse(results, job.getBatchId());
+    }
+
+    /**
+     * Parse and evaluate a workbook for the given batch context without recording or saving anything
+     */
+    public List<BulkRowResult> evaluateWorkbook(InputStream inputStream, String fileName, long fileSize,
+                                                BatchContext context) throws IOException {
+        return processExcelData(inputStream, fileName, fileSize, context, "preview", null);
+    }
+
     /**
      * Generate enhanced Excel file with calculation results
      */
     public byte[] generateEnhancedExcel(List<BulkRowResult> results, String batchId) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Compensation Results");
-            
-            // Create header row with styling
-            createHeaderRow(workbook, sheet);
-            
-            // Add data rows
-            int rowIndex = 1;
-            for (BulkRowResult result : results) {
-                createDataRow(workbook, sheet, result, rowIndex++);
-            }
-            
-            // Auto-size columns
-            autoSizeColumns(sheet);
-            
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeEnhancedExcel(results, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Stream the enhanced Excel file with calculation results to the given output stream.
+     * Rows are consumed one at a time, so a lazily produced iterable is never held in memory as a whole.
+     */
+    public void writeEnhancedExcel(Iterable<BulkRowResult> results, OutputStream outputStream) throws IOException {
+        ExcelResultWriter.write(results, outputStream);
     }
 
     /**
      * Validate Excel file before processing
      */
-    private void validateExcelFile(MultipartFile file) throws IOException {
+    public void validateExcelFile(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Excel file is required");
         }
@@ -94,205 +139,173 @@ public class ExcelProcessingService implements IExcelProcessingService {
     }
 
     /**
-     * Create upload history record
+     * Resolve the tenant settings used by every row of the upload
      */
-    private void createUploadHistory(String clientId, MultipartFile file, String batchId) {
+    public BatchContext resolveBatchContext() {
+        String clientId = Authz.getCurrentUserClientId();
+        String userId = Authz.getCurrentUserId();
+
+        User client = clientId != null ? userRepository.findById(clientId).orElse(null) : null;
+        User uploader = userId.equals(clientId) ? client : userRepository.findById(userId).orElse(null);
+
+        PerformanceRatingScale ratingScale = uploader != null && uploader.getPerformanceRatingScale() != null
+                ? uploader.getPerformanceRatingScale()
+                : PerformanceRatingScale.FIVE_POINT; // Default to 5-point scale
+        Currency currency = client != null && client.getCurrency() != null ? client.getCurrency() : Currency.USD;
+
+        BatchContext context = new BatchContext(
+                clientId,
+                client != null ? client.getName() : "Unknown Client",
+                userId,
+                uploader != null ? uploader.getEmail() : "unknown@example.com",
+                ratingScale,
+                currency,
+                matrixIndexService.getIndex(clientId));
+        log.info("Resolved batch context for client {}: scale={}, currency={}, matrix cells={}",
+                clientId, ratingScale, currency, context.matrixIndex().getCellCount());
+        return context;
+    }
+
+    /**
+     * Create upload history record; best effort, the synchronous upload goes ahead without it
+     */
+    private void createUploadHistory(BatchContext context, String fileName, String batchId) {
+        if (context.clientId() == null) {
+            log.warn("Failed to create upload history: no client for current user");
+            return;
+        }
         try {
-            String clientName = userRepository.findById(clientId)
-                    .map(user -> user.getName())
-                    .orElse("Unknown Client");
-            
-            String uploadedBy = Authz.getCurrentUserId();
-            String uploadedByEmail = userRepository.findById(uploadedBy)
-                    .map(user -> user.getEmail())
-                    .orElse("unknown@example.com");
-            
             uploadHistoryService.createUploadHistory(
-                    clientId, clientName, file.getOriginalFilename(), 
-                    file.getOriginalFilename(), batchId, uploadedBy, uploadedByEmail);
+                    context.clientId(), context.clientName(), fileName, 
+                    fileName, batchId, context.userId(), context.userEmail());
         } catch (Exception e) {
             log.warn("Failed to create upload history: {}", e.getMessage());
         }
     }
 
     /**
-     * Process Excel data using Apache POI
+     * Parse the uploaded workbook row by row and evaluate the data rows on the bulk worker pool.
+     * Non-empty rows are grouped into chunks of {@code app.bulk.chunkSize} and evaluated while parsing
+     * continues; chunk results are joined in submission order, so results stay in sheet row order.
+     * The worker pool queue is bounded: once it is full the parsing thread evaluates the chunk itself,
+     * which keeps the parsed rows waiting for evaluation to a few chunks.
+     * When a bulk job is given, its progress is recorded and its cancellation flag is honoured.
      */
-    private List<BulkRowResult> processExcelData(MultipartFile file, String clientId, String batchId) throws IOException {
-        List<BulkRowResult> results = new ArrayList<>();
-        
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(inputStream)) {
-            
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new IllegalArgumentException("Excel file must contain at least one sheet");
-            }
-            
-            // Validate header row
-            validateHeaderRow(sheet);
-            
-            // Process data rows
-            int lastRowNum = sheet.getLastRowNum();
-            int processedRows = 0;
-            int skippedRows = 0;
-            int errorRows = 0;
-            
-            log.info("Processing Excel file with {} total rows (including header)", lastRowNum + 1);
-            
-            for (int i = 1; i <= lastRowNum; i++) {
-                Row row = sheet.getRow(i);
-                
+    private List<BulkRowResult> processExcelData(InputStream inputStream, String fileName, long fileSize,
+                                                 BatchContext context, String batchId, BulkJob job) throws IOException {
+        int chunkSize = Math.max(1, appProperties.getBulk().getChunkSize());
+        List<Future<List<BulkRowResult>>> chunks = new ArrayList<>();
+        List<ExcelRowData> pending = new ArrayList<>(chunkSize);
+        AtomicInteger errorCount = new AtomicInteger();
+        int[] skipped = new int[1];
+
+        try {
+            excelRowReader.read(inputStream, fileName, fileSize, row -> {
+                if (job != null && job.isCancelRequested()) {
+                    throw new CancellationException("Bulk job " + batchId + " was cancelled");
+                }
                 // Skip completely empty rows
-                if (row == null || isRowEmpty(row)) {
-                    log.debug("Skipping empty row {}", i);
-                    skippedRows++;
-                    continue;
+                if (row.isEmpty()) {
+                    log.debug("Skipping empty row {}", row.rowIndex());
+                    skipped[0]++;
+                    return;
                 }
-                
-                try {
-                    BulkRowResult result = processRow(row, clientId, i); // Use actual Excel row number
-                    results.add(result);
-                    processedRows++;
-                } catch (Exception e) {
-                    log.warn("Error processing Excel row {}: {}", i, e.getMessage());
-                    results.add(createErrorResultWithOriginalData(row, i, e.getMessage()));
-                    errorRows++;
+
+                pending.add(row);
+                if (pending.size() == chunkSize) {
+                    chunks.add(submitChunk(List.copyOf(pending), context, errorCount, job));
+                    pending.clear();
+                    reportProgress(job);
                 }
+            });
+            if (!pending.isEmpty()) {
+                chunks.add(submitChunk(List.copyOf(pending), context, errorCount, job));
             }
-            
-            log.info("Excel processing summary - Processed: {}, Skipped (empty): {}, Errors: {}, Total results: {}", 
-                    processedRows, skippedRows, errorRows, results.size());
+        } catch (IOException | RuntimeException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e;
         }
-        
+
+        List<BulkRowResult> results = new ArrayList<>();
+        for (Future<List<BulkRowResult>> chunk : chunks) {
+            results.addAll(awaitChunk(chunk));
+            reportProgress(job);
+        }
+
+        log.info("Excel processing summary - Processed: {}, Skipped (empty): {}, Errors: {}, Total results: {}, Chunks: {}",
+                results.size() - errorCount.get(), skipped[0], errorCount.get(), results.size(), chunks.size());
         return results;
     }
 
     /**
-     * Check if a row is completely empty
+     * Evaluate a chunk of parsed rows on the worker pool, keeping the rows in order
      */
-    private boolean isRowEmpty(Row row) {
-        if (row == null) return true;
-        
-        // Check if the row has any cells at all
-        if (row.getLastCellNum() == -1) return true;
-        
-        // Check first 3 columns (Employee Code, Name, Job Title) - if all are empty, consider row empty
-        boolean hasAnyData = false;
-        for (int i = 0; i < 3; i++) {
-            Cell cell = row.getCell(i);
-            if (cell != null) {
-                String cellValue = getCellValueAsString(cell);
-                if (cellValue != null && !cellValue.trim().isEmpty()) {
-                    hasAnyData = true;
-                    break;
+    private Future<List<BulkRowResult>> submitChunk(List<ExcelRowData> rows, BatchContext context,
+                                                    AtomicInteger errorCount, BulkJob job) {
+        return bulkRowExecutor.submit(() -> {
+            if (job != null && job.isCancelRequested()) {
+                return List.of();
+            }
+            List<BulkRowResult> chunkResults = new ArrayList<>(rows.size());
+            for (ExcelRowData row : rows) {
+                try {
+                    chunkResults.add(processRow(row, context)); // Uses actual Excel row number
+                } catch (Exception e) {
+                    log.warn("Error processing Excel row {}: {}", row.rowIndex(), e.getMessage());
+                    chunkResults.add(createErrorResultWithOriginalData(row, e.getMessage()));
+                    errorCount.incrementAndGet();
                 }
             }
-        }
-        
-        return !hasAnyData;
+            if (job != null) {
+                job.addProcessedRows(rows.size());
+            }
+            return chunkResults;
+        });
     }
 
     /**
-     * Process a single row
+     * Persist the live row counter of an asynchronous job to its upload history
      */
-    private BulkRowResult processRow(Row row, String clientId, int rowIndex) {
-        // Extract data from row
-        String employeeCode = getCellValueAsString(row.getCell(0));
-        String employeeName = getCellValueAsString(row.getCell(1));
-        String jobTitle = getCellValueAsString(row.getCell(2));
-        Integer yearsExperience = getCellValueAsInteger(row.getCell(3));
-        Integer performanceRating = getCellValueAsInteger(row.getCell(4));
-        BigDecimal currentSalary = getCellValueAsBigDecimal(row.getCell(5));
-        BigDecimal midOfScale = getCellValueAsBigDecimal(row.getCell(6));
-        
-        // Log the extracted data for debugging
-        log.info("Processing Excel row {}: EmployeeCode={}, EmployeeName={}, JobTitle={}, YearsExp={}, PerfRating={}, CurrentSalary={}, MidOfScale={}", 
-                rowIndex, employeeCode, employeeName, jobTitle, yearsExperience, performanceRating, currentSalary, midOfScale);
-        
-        // Validate required fields
-        validateRowData(employeeCode, employeeName, jobTitle, yearsExperience, performanceRating, currentSalary, midOfScale, rowIndex);
-        
-        // Perform calculation
-        return calculateCompensation(clientId, rowIndex, employeeCode, employeeName, jobTitle, 
-                yearsExperience, performanceRating, currentSalary, midOfScale);
+    private void reportProgress(BulkJob job) {
+        if (job == null) {
+            return;
+        }
+        try {
+            uploadHistoryService.updateProgress(job.getBatchId(), job.getProcessedRows());
+        } catch (Exception e) {
+            log.warn("Failed to record progress for batch {}: {}", job.getBatchId(), e.getMessage());
+        }
     }
 
-    /**
-     * Validate header row structure
-     */
-    private void validateHeaderRow(Sheet sheet) {
-        Row headerRow = sheet.getRow(0);
-        if (headerRow == null) {
-            throw new IllegalArgumentException("Excel file must have a header row");
-        }
-        
-        String[] expectedHeaders = {"Employee Code", "Employee Name", "Job Title", "Years of Experience", 
-                                  "Performance Rating", "Current Salary", "Mid of Scale"};
-        
-        for (int i = 0; i < expectedHeaders.length; i++) {
-            String cellValue = getCellValueAsString(headerRow.getCell(i));
-            if (cellValue == null || !isValidHeader(cellValue.trim(), expectedHeaders[i])) {
-                throw new IllegalArgumentException(
-                    String.format("Invalid header at column %d. Expected '%s', found '%s'", 
-                                i + 1, expectedHeaders[i], cellValue));
-            }
+    private List<BulkRowResult> awaitChunk(Future<List<BulkRowResult>> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk processing was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bulk row evaluation failed: " + e.getCause().getMessage(), e.getCause());
         }
     }
 
     /**
-     * Check if header value matches expected header (case-insensitive and flexible)
+     * Process a single row
      */
-    private boolean isValidHeader(String actualHeader, String expectedHeader) {
-        if (actualHeader == null || expectedHeader == null) {
-            return false;
-        }
-        
-        // Normalize both strings for comparison
-        String normalizedActual = actualHeader.toLowerCase().replaceAll("\\s+", " ").trim();
-        String normalizedExpected = expectedHeader.toLowerCase().replaceAll("\\s+", " ").trim();
+    private BulkRowResult processRow(ExcelRowData row, BatchContext context) {
+        int rowIndex = row.rowIndex();
+
+        // Log the extracted data for debugging
+        log.debug("Processing Excel row {}: EmployeeCode={}, EmployeeName={}, JobTitle={}, YearsExp={}, PerfRating={}, CurrentSalary={}, MidOfScale={}", 
+                rowIndex, row.employeeCode(), row.employeeName(), row.jobTitle(), row.yearsExperience(),
+                row.performanceRating(), row.currentSalary(), row.midOfScale());
         
-        // Direct match
-        if (normalizedActual.equals(normalizedExpected)) {
-            return true;
-        }
+        // Validate required fields
+        validateRowData(row.employeeCode(), row.employeeName(), row.jobTitle(), row.yearsExperience(),
+                row.performanceRating(), row.currentSalary(), row.midOfScale(), rowIndex, context.ratingScale());
         
-        // Handle common variations
-        switch (normalizedExpected) {
-            case "years of experience":
-                return normalizedActual.equals("years of experience") || 
-                       normalizedActual.equals("years experience") ||
-                       normalizedActual.equals("experience years");
-            case "performance rating":
-                return normalizedActual.equals("performance rating") ||
-                       normalizedActual.equals("rating") ||
-                       normalizedActual.equals("perf rating") ||
-                       normalizedActual.contains("performance rating") ||
-                       normalizedActual.startsWith("performance rating");
-            case "current salary":
-                return normalizedActual.equals("current salary") ||
-                       normalizedActual.equals("salary") ||
-                       normalizedActual.equals("current pay");
-            case "mid of scale":
-                return normalizedActual.equals("mid of scale") ||
-                       normalizedActual.equals("mid scale") ||
-                       normalizedActual.equals("midpoint") ||
-                       normalizedActual.equals("mid point");
-            case "employee code":
-                return normalizedActual.equals("employee code") ||
-                       normalizedActual.equals("emp code") ||
-                       normalizedActual.equals("employee id");
-            case "employee name":
-                return normalizedActual.equals("employee name") ||
-                       normalizedActual.equals("name") ||
-                       normalizedActual.equals("emp name");
-            case "job title":
-                return normalizedActual.equals("job title") ||
-                       normalizedActual.equals("title") ||
-                       normalizedActual.equals("position");
-            default:
-                return false;
-        }
+        // Perform calculation
+        return calculateCompensation(context, rowIndex, row.employeeCode(), row.employeeName(), row.jobTitle(), 
+                row.yearsExperience(), row.performanceRating(), row.currentSalary(), row.midOfScale());
     }
 
     /**
@@ -300,7 +313,7 @@ public class ExcelProcessingService implements IExcelProcessingService {
      */
     private void validateRowData(String employeeCode, String employeeName, String jobTitle, Integer yearsExperience,
                                Integer performanceRating, BigDecimal currentSalary, 
-                               BigDecimal midOfScale, int rowIndex) {
+                               BigDecimal midOfScale, int rowIndex, PerformanceRatingScale userScale) {
         if (employeeCode == null || employeeCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Employee Code is required at row " + rowIndex);
         }
@@ -320,12 +333,11 @@ public class ExcelProcessingService implements IExcelProcessingService {
             throw new IllegalArgumentException("Performance Rating is required at row " + rowIndex);
         }
         // Validate and potentially convert performance rating
-        var userScale = performanceRatingService.getUserPerformanceRatingScale();
         int originalRating = performanceRating;
         
         // If Excel has 5-point data but user uses 3-point scale, convert it
         if (performanceRating > 3 && userScale == PerformanceRatingScale.THREE_POINT) {
-            log.info("Converting 5-point rating {} to 3-point scale for row {} (user scale: {})", 
+            log.debug("Converting 5-point rating {} to 3-point scale for row {} (user scale: {})", 
                     performanceRating, rowIndex, userScale);
             // Convert 5-point to 3-point: 4,5 → 3
             if (performanceRating >= 4) {
@@ -333,11 +345,11 @@ public class ExcelProcessingService implements IExcelProcessingService {
             } else if (performanceRating == 3) {
                 performanceRating = 3; // Already correct
             }
-            log.info("Rating converted from {} to {} for row {}", originalRating, performanceRating, rowIndex);
+            log.debug("Rating converted from {} to {} for row {}", originalRating, performanceRating, rowIndex);
         }
         
         // Validate performance rating against user's scale
-        if (!performanceRatingService.isValidPerformanceRating(performanceRating)) {
+        if (!performanceRatingService.isValidPerformanceRating(performanceRating, userScale)) {
             log.error("Validation failed for rating {} (original: {}) at row {} with scale {}", 
                     performanceRating, originalRating, rowIndex, userScale);
             throw new IllegalArgumentException(String.format("Performance Rating must be between 1 and %d for %s at row %d", 
@@ -363,26 +375,25 @@ public class ExcelProcessingService implements IExcelProcessingService {
     /**
      * Calculate compensation using business logic
      */
-    private BulkRowResult calculateCompensation(String clientId, int rowIndex, String employeeCode, 
+    private BulkRowResult calculateCompensation(BatchContext context, int rowIndex, String employeeCode, 
                                               String employeeName, String jobTitle, Integer yearsExperience, 
                                               Integer performanceRating, BigDecimal currentSalary, 
                                               BigDecimal midOfScale) {
         
         // Calculate compa ratio as percentage (integer)
-        BigDecimal compaRatioDecimal = currentSalary.divide(midOfScale, 4, RoundingMode.HALF_UP);
-        BigDecimal compaRatio = compaRatioDecimal.multiply(BigDecimal.valueOf(100)).setScale(0, RoundingMode.HALF_UP);
+        BigDecimal compaRatio = FixedPointMoney.compaPercent(currentSalary, midOfScale);
         
         // Determine performance bucket using user's rating scale
-        int perfBucket = performanceRatingService.calculatePerformanceBucket(performanceRating);
+        int perfBucket = performanceRatingService.calculatePerformanceBucket(performanceRating, context.ratingScale());
         
         // Find appropriate adjustment matrix (convert percentage back to decimal for lookup)
-        BigDecimal compaRatioForLookup = compaRatio.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        Optional<AdjustmentMatrix> matrixOpt = matrixRepo.findClientActiveCell(perfBucket, compaRatioForLookup, clientId);
+        BigDecimal compaRatioForLookup = compaRatio.movePointLeft(2).setScale(4, RoundingMode.HALF_UP);
+        AdjustmentMatrix matrix = context.matrixIndex().findCell(perfBucket, compaRatioForLookup);
         
-        if (matrixOpt.isEmpty()) {
+        if (matrix == null) {
             // No matrix found - use default calculation or zero increase
             log.warn("No adjustment matrix found for client '{}' with performance bucket {} and compa ratio {} at row {}. Using zero increase.", 
-                    clientId, perfBucket, compaRatio, rowIndex);
+                    context.clientId(), perfBucket, compaRatio, rowIndex);
             
             return BulkRowResult.builder()
                     .rowIndex(rowIndex)
@@ -394,27 +405,24 @@ public class ExcelProcessingService implements IExcelProcessingService {
                     .currentSalary(currentSalary)
                     .midOfScale(midOfScale)
                     .compaRatio(compaRatio)
-                    .compaLabel(determineCompaLabel(compaRatio))
+                    .compaLabel(compaLabel(compaRatio))
                     .increasePct(BigDecimal.ZERO)
                     .newSalary(currentSalary)
                     .increaseAmount(BigDecimal.ZERO)
                     .build();
         }
         
-        AdjustmentMatrix matrix = matrixOpt.get();
-        
         // Calculate percentage increase based on experience
         BigDecimal increasePct = (yearsExperience < 5) ? matrix.getPctLt5Years() : matrix.getPctGte5Years();
         
         // Calculate new salary
-        BigDecimal newSalary = currentSalary.multiply(BigDecimal.ONE.add(increasePct.movePointLeft(2)))
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal newSalary = FixedPointMoney.newSalary(currentSalary, increasePct);
         
         // Calculate increase amount
-        BigDecimal increaseAmount = newSalary.subtract(currentSalary).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal increaseAmount = newSalary.subtract(currentSalary).setScale(FixedPointMoney.MONEY_SCALE, RoundingMode.HALF_UP);
         
         // Determine compa label
-        String compaLabel = determineCompaLabel(compaRatio);
+        String compaLabel = compaLabel(compaRatio);
         
         return BulkRowResult.builder()
                 .rowIndex(rowIndex)
@@ -434,96 +442,93 @@ public class ExcelProcessingService implements IExcelProcessingService {
     }
 
     /**
-     * Determine compa label based on ratio
+     * Determine compa label based on the compa ratio in whole percent, e.g. 95 for 0.95
      */
-    private String determineCompaLabel(BigDecimal compaRatio) {
-        if (compaRatio.compareTo(BigDecimal.valueOf(0.71)) < 0) {
-            return "< 71%";
-        } else if (compaRatio.compareTo(BigDecimal.valueOf(0.85)) < 0) {
-            return "71% - 85%";
-        } else if (compaRatio.compareTo(BigDecimal.valueOf(1.0)) < 0) {
-            return "85% - 100%";
-        } else if (compaRatio.compareTo(BigDecimal.valueOf(1.15)) < 0) {
-            return "100% - 115%";
-        } else {
-            return "> 115%";
+    public static String compaLabel(BigDecimal compaPercent) {
+        for (int i = 0; i < COMPA_LABEL_BOUNDS.size(); i++) {
+            if (compaPercent.compareTo(COMPA_LABEL_BOUNDS.get(i)) < 0) {
+                return COMPA_LABELS.get(i);
+            }
         }
+        return COMPA_LABELS.get(COMPA_LABEL_BOUNDS.size());
     }
 
     /**
      * Create error result with original data preserved
      */
-    private BulkRowResult createErrorResultWithOriginalData(Row row, int rowIndex, String errorMessage) {
-        // Extract original data even if calculation failed
-        String employeeCode = getCellValueAsString(row.getCell(0));
-        String employeeName = getCellValueAsString(row.getCell(1));
-        String jobTitle = getCellValueAsString(row.getCell(2));
-        Integer yearsExperience = getCellValueAsInteger(row.getCell(3));
-        Integer performanceRating = getCellValueAsInteger(row.getCell(4));
-        BigDecimal currentSalary = getCellValueAsBigDecimal(row.getCell(5));
-        BigDecimal midOfScale = getCellValueAsBigDecimal(row.getCell(6));
-        
-        log.info("Preserving original data for failed row {}: EmployeeCode={}, EmployeeName={}, JobTitle={}, YearsExp={}, PerfRating={}, CurrentSalary={}, MidOfScale={}", 
-                rowIndex, employeeCode, employeeName, jobTitle, yearsExperience, performanceRating, currentSalary, midOfScale);
+    private BulkRowResult createErrorResultWithOriginalData(ExcelRowData row, String errorMessage) {
+        log.debug("Preserving original data for failed row {}: EmployeeCode={}, EmployeeName={}, JobTitle={}, YearsExp={}, PerfRating={}, CurrentSalary={}, MidOfScale={}", 
+                row.rowIndex(), row.employeeCode(), row.employeeName(), row.jobTitle(), row.yearsExperience(),
+                row.performanceRating(), row.currentSalary(), row.midOfScale());
         
         return BulkRowResult.builder()
-                .rowIndex(rowIndex)
-                .employeeCode(employeeCode)
-                .employeeName(employeeName)
-                .jobTitle(jobTitle)
-                .yearsExperience(yearsExperience)
-                .performanceRating5(performanceRating)
-                .currentSalary(currentSalary)
-                .midOfScale(midOfScale)
+                .rowIndex(row.rowIndex())
+                .employeeCode(row.employeeCode())
+                .employeeName(row.employeeName())
+                .jobTitle(row.jobTitle())
+                .yearsExperience(row.yearsExperience())
+                .performanceRating5(row.performanceRating())
+                .currentSalary(row.currentSalary())
+                .midOfScale(row.midOfScale())
                 .error(errorMessage)
                 .build();
     }
 
     /**
      * Save calculation results to database
-     * Implements comprehensive cleanup strategy:
-     * 1. Delete all previous bulk calculation results for the client (fresh start)
-     * 2. Save new calculation results
-     * Uses @Transactional to ensure atomicity - both delete and insert happen together or not at all
+     * Results are inserted under the new batch id and then published by flipping the client's active batch,
+     * so readers keep seeing the previous batch until this one is complete. The previous batch is deleted
+     * later by the reclaimer. A batch without successful rows is not published.
      */
-    @Transactional
-    private void saveCalculationResults(List<BulkRowResult> results, String clientId, String batchId) {
-        List<CalculationResult> calculationResults = results.stream()
+    private void saveCalculationResults(List<BulkRowResult> results, BatchContext context, String batchId) {
+        List<BulkRowResult> successfulResults = results.stream()
                 .filter(result -> result.getError() == null)
-                .map(result -> CalculationResult.builder()
-                        .clientId(clientId)
-                        .batchId(batchId)
-                        .employeeCode(result.getEmployeeCode())
-                        .employeeName(result.getEmployeeName())  // Now saving employee name
-                        .jobTitle(result.getJobTitle())
-                        .yearsExperience(result.getYearsExperience())
-                        .perfBucket(performanceRatingService.calculatePerformanceBucket(result.getPerformanceRating5()))
-                        .currentSalary(result.getCurrentSalary())
-                        .midOfScale(result.getMidOfScale())
-                        .compaRatio(result.getCompaRatio())
-                        .compaLabel(result.getCompaLabel())
-                        .increasePct(result.getIncreasePct())
-                        .newSalary(result.getNewSalary())
-                        .build())
-                .collect(Collectors.toList());
-        
-        if (!calculationResults.isEmpty()) {
-            // COMPREHENSIVE CLEANUP: Delete all previous bulk calculation results for this client
-            // This ensures a clean slate for each bulk upload, preventing data accumulation
-            long deletedCount = resultRepo.deleteByClientId(clientId);
-            if (deletedCount > 0) {
-                log.info("Cleaned up {} previous calculation results for client {} to ensure fresh bulk upload", 
-                        deletedCount, clientId);
+                .toList();
+        
+        if (context.clientId() == null) {
+            log.warn("Not saving results for batch {}: no client for current user", batchId);
+        } else if (!successfulResults.isEmpty()) {
+            int savedCount;
+            ResultStatistics.Accumulator stats = new ResultStatistics.Accumulator();
+            try {
+                // the mapper runs on this thread, so the rollup is accumulated in the same pass as the inserts
+                savedCount = resultBulkWriter.insertAll(successfulResults,
+                        result -> {
+                            CalculationResult document = toCalculationResult(result, context, batchId);
+                            stats.add(document);
+                            return document;
+                        });
+                clientStatsService.record(context.clientId(), batchId, stats.build());
+            } catch (RuntimeException e) {
+                resultBatchService.discard(context.clientId(), batchId);
+                throw e;
             }
-            
-            // Save new calculation results
-            resultRepo.saveAll(calculationResults);
-            log.info("Saved {} new calculation results to database for batch {}", calculationResults.size(), batchId);
+            log.info("Saved {} new calculation results to database for batch {}", savedCount, batchId);
+            resultBatchService.publish(context.clientId(), batchId, savedCount);
         } else {
             log.warn("No valid calculation results to save for batch {}", batchId);
         }
     }
 
+    private CalculationResult toCalculationResult(BulkRowResult result, BatchContext context, String batchId) {
+        return CalculationResult.builder()
+                .clientId(context.clientId())
+                .batchId(batchId)
+                .employeeCode(result.getEmployeeCode())
+                .employeeName(result.getEmployeeName())  // Now saving employee name
+                .jobTitle(result.getJobTitle())
+                .yearsExperience(result.getYearsExperience())
+                .perfBucket(performanceRatingService.calculatePerformanceBucket(result.getPerformanceRating5(), context.ratingScale()))
+                .currentSalary(result.getCurrentSalary())
+                .midOfScale(result.getMidOfScale())
+                .compaRatio(result.getCompaRatio())
+                .compaLabel(result.getCompaLabel())
+                .increasePct(result.getIncreasePct())
+                .newSalary(result.getNewSalary())
+                .increaseAmount(result.getIncreaseAmount())
+                .build();
+    }
+
     /**
      * Build bulk response
      */
@@ -533,138 +538,4 @@ public class ExcelProcessingService implements IExcelProcessingService {
         
         return new BulkResponse(batchId, results.size(), successCount, errorCount, results);
     }
-
-    /**
-     * Create header row with styling
-     */
-    private void createHeaderRow(Workbook workbook, Sheet sheet) {
-        Row headerRow = sheet.createRow(0);
-        
-        // Create header style
-        CellStyle headerStyle = workbook.createCellStyle();
-        headerStyle.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerFont.setFontHeightInPoints((short) 12);
-        headerStyle.setFont(headerFont);
-        
-        // Set header values
-        String[] headers = {"Employee Code", "Employee Name", "Job Title", "Years of Experience", "Performance Rating",
-                           "Current Salary", "Mid of Scale", "Compa Ratio",
-                           "Increase %", "New Salary", "Increase Amount"};
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-    }
-
-    /**
-     * Create data row
-     */
-    private void createDataRow(Workbook workbook, Sheet sheet, BulkRowResult result, int rowIndex) {
-        Row row = sheet.createRow(rowIndex);
-        
-        // Create data style
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setWrapText(true);
-        
-        // Set cell values
-        int colIndex = 0;
-        row.createCell(colIndex++).setCellValue(result.getEmployeeCode() != null ? result.getEmployeeCode() : "");
-        row.createCell(colIndex++).setCellValue(result.getEmployeeName() != null ? result.getEmployeeName() : "");
-        row.createCell(colIndex++).setCellValue(result.getJobTitle() != null ? result.getJobTitle() : "");
-        row.createCell(colIndex++).setCellValue(result.getYearsExperience() != null ? result.getYearsExperience() : 0);
-        row.createCell(colIndex++).setCellValue(result.getPerformanceRating5() != null ? result.getPerformanceRating5() : 0);
-        row.createCell(colIndex++).setCellValue(result.getCurrentSalary() != null ? result.getCurrentSalary().doubleValue() : 0.0);
-        row.createCell(colIndex++).setCellValue(result.getMidOfScale() != null ? result.getMidOfScale().doubleValue() : 0.0);
-        
-        // For error rows, show "ERROR" in calculation columns, otherwise show calculated values
-        if (result.getError() != null) {
-            row.createCell(colIndex++).setCellValue("ERROR");
-            row.createCell(colIndex++).setCellValue("ERROR");
-            row.createCell(colIndex++).setCellValue("ERROR");
-            row.createCell(colIndex++).setCellValue("ERROR");
-        } else {
-            row.createCell(colIndex++).setCellValue(result.getCompaRatio() != null ? result.getCompaRatio().doubleValue() : 0.0);
-            row.createCell(colIndex++).setCellValue(result.getIncreasePct() != null ? result.getIncreasePct().doubleValue() : 0.0);
-            row.createCell(colIndex++).setCellValue(result.getNewSalary() != null ? result.getNewSalary().doubleValue() : 0.0);
-            row.createCell(colIndex++).setCellValue(result.getIncreaseAmount() != null ? result.getIncreaseAmount().doubleValue() : 0.0);
-        }
-        
-        // Apply styling to all cells
-        for (int i = 0; i < colIndex; i++) {
-            row.getCell(i).setCellStyle(dataStyle);
-        }
-    }
-
-    /**
-     * Auto-size columns
-     */
-    private void autoSizeColumns(Sheet sheet) {
-        Row headerRow = sheet.getRow(0);
-        if (headerRow != null) {
-            for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-                sheet.autoSizeColumn(i);
-            }
-        }
-    }
-
-    // Helper methods for cell value extraction
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return null;
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                // Check if it's a whole number (likely an ID/code)
-                double numericValue = cell.getNumericCellValue();
-                if (numericValue == Math.floor(numericValue) && !Double.isInfinite(numericValue)) {
-                    return String.valueOf((long) numericValue);
-                } else {
-                    return String.valueOf(numericValue);
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return null;
-        }
-    }
-
-    private Integer getCellValueAsInteger(Cell cell) {
-        if (cell == null) return null;
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return (int) cell.getNumericCellValue();
-            case STRING:
-                try {
-                    return Integer.parseInt(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return null;
-                }
-            default:
-                return null;
-        }
-    }
-
-    private BigDecimal getCellValueAsBigDecimal(Cell cell) {
-        if (cell == null) return null;
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return BigDecimal.valueOf(cell.getNumericCellValue());
-            case STRING:
-                try {
-                    return new BigDecimal(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return null;
-                }
-            default:
-                return null;
-        }
-    }
-}
\ No newline at end of file
+}
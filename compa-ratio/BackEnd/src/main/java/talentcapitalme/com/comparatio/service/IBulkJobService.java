@@ -0,0 +1,27 @@
+package talentcapitalme.com.comparatio.service;
+
+import org.springframework.web.multipart.MultipartFile;
+import talentcapitalme.com.comparatio.dto.BulkJobResponse;
+
+import java.io.IOException;
+
+/**
+ * Interface for asynchronous bulk calculation jobs
+ */
+public interface IBulkJobService {
+
+    /**
+     * Accept an upload and process it in the background
+     */
+    BulkJobResponse submit(MultipartFile file) throws IOException;
+
+    /**
+     * Get the current state of a job
+     */
+    BulkJobResponse getStatus(String batchId);
+
+    /**
+     * Request cancellation of a queued or running job
+     */
+    BulkJobResponse cancel(String batchId);
+}
@@ -3,7 +3,10 @@ package talentcapitalme.com.comparatio.service;
 import talentcapitalme.com.comparatio.dto.ClientAccountSummary;
 import talentcapitalme.com.comparatio.dto.ClientAccountsResponse;
 import talentcapitalme.com.comparatio.dto.ClientDashboardStatistics;
+import talentcapitalme.com.comparatio.dto.ClientStatsConsistency;
+import talentcapitalme.com.comparatio.dto.CompaHeatmap;
 import talentcapitalme.com.comparatio.dto.DashboardResponse;
+import talentcapitalme.com.comparatio.dto.IncreasePercentiles;
 
 import java.util.List;
 
@@ -45,4 +48,35 @@ public interface IDashboardService {
      * @return ClientDashboardStatistics containing all analytics
      */
     ClientDashboardStatistics getClientDashboardStatistics(String clientId);
+    
+    /**
+     * Rebuild the statistics rollup of one client's active batch, or of every client (Super Admin)
+     * 
+     * @param clientId The client ID, or null for all clients
+     * @return the number of rollups rebuilt
+     */
+    int rebuildClientStatistics(String clientId);
+    
+    /**
+     * Compare statistics rollups with a full recompute of the active batches (Super Admin)
+     * 
+     * @param clientId The client ID, or null for all clients
+     */
+    List<ClientStatsConsistency> checkClientStatistics(String clientId);
+    
+    /**
+     * Get increase percentiles and histograms of a client's active batch, or of all clients merged
+     * 
+     * @param clientId The client ID, or null for all clients (Super Admin)
+     * @param bins Number of histogram bins
+     */
+    IncreasePercentiles getIncreasePercentiles(String clientId, int bins);
+    
+    /**
+     * Get headcount, current salary and increase totals per performance bucket and compa ratio range of a batch
+     * 
+     * @param clientId The client ID
+     * @param batchId The batch ID, or null for the client's active batch
+     */
+    CompaHeatmap getCompaHeatmap(String clientId, String batchId);
 }
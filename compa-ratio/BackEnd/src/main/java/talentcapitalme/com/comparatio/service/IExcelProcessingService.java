@@ -5,6 +5,7 @@ import talentcapitalme.com.comparatio.dto.BulkResponse;
 import talentcapitalme.com.comparatio.dto.BulkRowResult;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -21,4 +22,9 @@ public interface IExcelProcessingService {
      * Generate enhanced Excel file
      */
     byte[] generateEnhancedExcel(List<BulkRowResult> results, String filename) throws IOException;
+    
+    /**
+     * Stream enhanced Excel file to an output stream
+     */
+    void writeEnhancedExcel(Iterable<BulkRowResult> results, OutputStream outputStream) throws IOException;
 }
@@ -36,6 +36,21 @@ public interface IUploadHistoryService {
      */
     UploadHistory markUploadFailed(String batchId, String errorMessage);
     
+    /**
+     * Mark upload as being processed
+     */
+    UploadHistory markProcessing(String batchId, long fileSizeBytes);
+    
+    /**
+     * Record the number of rows processed so far
+     */
+    void updateProgress(String batchId, int processedRows);
+    
+    /**
+     * Mark upload as cancelled
+     */
+    UploadHistory markUploadCancelled(String batchId, int processedRows);
+    
     /**
      * Get upload history by client ID
      */
@@ -0,0 +1,84 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.tdunning.math.stats.MergingDigest;
+import com.tdunning.math.stats.TDigest;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Mergeable quantile sketches (t-digest) of the positive increase percentages and amounts of one or more batches.
+ *
+ * The size of a sketch is bounded by {@link #COMPRESSION}, not by the number of results: a serialized sketch
+ * stays within a few kilobytes whatever the batch size, and merging the sketches of several batches does not
+ * grow it. Quantiles are approximate, with the best accuracy towards the tails.
+ * Same positivity rules as {@link ResultStatistics}: zero and negative increases are not recorded.
+ */
+public final class IncreaseSketches {
+
+    static final double COMPRESSION = 100;
+
+    private final TDigest increasePct;
+    private final TDigest increaseAmount;
+
+    public IncreaseSketches() {
+        this(new MergingDigest(COMPRESSION), new MergingDigest(COMPRESSION));
+    }
+
+    private IncreaseSketches(TDigest increasePct, TDigest increaseAmount) {
+        this.increasePct = increasePct;
+        this.increaseAmount = increaseAmount;
+    }
+
+    /**
+     * Restore sketches serialized with {@link #increasePctBytes()} and {@link #increaseAmountBytes()}
+     */
+    public static IncreaseSketches fromBytes(byte[] increasePct, byte[] increaseAmount) {
+        return new IncreaseSketches(MergingDigest.fromBytes(ByteBuffer.wrap(increasePct)),
+                MergingDigest.fromBytes(ByteBuffer.wrap(increaseAmount)));
+    }
+
+    /**
+     * Record an increase percentage and an increase amount; either may be null
+     */
+    public void add(BigDecimal pct, BigDecimal amount) {
+        if (pct != null && pct.signum() > 0) {
+            increasePct.add(pct.doubleValue());
+        }
+        if (amount != null && amount.signum() > 0) {
+            increaseAmount.add(amount.doubleValue());
+        }
+    }
+
+    /**
+     * Add the contents of other sketches to these
+     */
+    public IncreaseSketches merge(IncreaseSketches other) {
+        increasePct.add(other.increasePct);
+        increaseAmount.add(other.increaseAmount);
+        return this;
+    }
+
+    public TDigest getIncreasePct() {
+        return increasePct;
+    }
+
+    public TDigest getIncreaseAmount() {
+        return increaseAmount;
+    }
+
+    public byte[] increasePctBytes() {
+        return toBytes(increasePct);
+    }
+
+    public byte[] increaseAmountBytes() {
+        return toBytes(increaseAmount);
+    }
+
+    private static byte[] toBytes(TDigest digest) {
+        digest.compress();
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,78 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.MongoIndexRegistry;
+
+/**
+ * Creates the indexes of every collection on startup, before the other startup runners query them.
+ *
+ * Applies the {@code @Indexed} annotations of the mapped entities (automatic index creation is disabled)
+ * and the {@link MongoIndexRegistry}. Creating an index that already exists is a no-op; an index that
+ * cannot be created, e.g. a unique index over duplicate data, is logged and skipped.
+ */
+@Slf4j
+@Service
+@Order(0)
+@RequiredArgsConstructor
+public class IndexManagerService implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            ensureIndexes();
+        } catch (Exception e) {
+            log.error("Error creating indexes", e);
+        }
+    }
+
+    /**
+     * Create all annotated and registered indexes
+     *
+     * @return the number of indexes that could not be created
+     * @throws DataAccessResourceFailureException if the database is unreachable; the remaining indexes are skipped
+     */
+    public int ensureIndexes() {
+        int failed = 0;
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (MongoPersistentEntity<?> entity : mongoTemplate.getConverter().getMappingContext().getPersistentEntities()) {
+            if (entity.isAnnotationPresent(Document.class)) {
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getType())) {
+                    failed += ensureIndex(entity.getType(), index);
+                }
+            }
+        }
+        for (MongoIndexRegistry.Entry entry : MongoIndexRegistry.entries()) {
+            failed += ensureIndex(entry.entityClass(), entry.index());
+        }
+        if (failed > 0) {
+            log.warn("{} indexes could not be created", failed);
+        }
+        return failed;
+    }
+
+    private int ensureIndex(Class<?> entityClass, IndexDefinition index) {
+        try {
+            String name = mongoTemplate.indexOps(entityClass).createIndex(index);
+            log.debug("Ensured index {} on {}", name, mongoTemplate.getCollectionName(entityClass));
+            return 0;
+        } catch (DataAccessResourceFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error creating index {} on {}", index.getIndexKeys().toJson(),
+                    mongoTemplate.getCollectionName(entityClass), e);
+            return 1;
+        }
+    }
+}
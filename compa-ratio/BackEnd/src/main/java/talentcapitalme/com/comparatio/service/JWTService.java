@@ -1,28 +1,23 @@
 package talentcapitalme.com.comparatio.service;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import talentcapitalme.com.comparatio.config.CustomUserDetails;
 
-import javax.crypto.SecretKey;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JWTService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtVerifier jwtVerifier;
 
     public String generateToken(UserDetails userDetails) {
 
@@ -41,48 +36,23 @@ public class JWTService {
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
                 .and()
-                .signWith(getKey())
+                .signWith(jwtVerifier.key())
                 .compact();
 
     }
 
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
-    }
-
-
-
-
-
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtVerifier.verify(token).subject();
     }
 
+    /**
+     * Whether the token is valid and was issued to the given user; the token is verified once, expiry included
+     */
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        try {
+            return userDetails.getUsername().equals(jwtVerifier.verify(token).subject());
+        } catch (JwtException e) {
+            return false;
+        }
     }
-
-
 }
@@ -0,0 +1,109 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import talentcapitalme.com.comparatio.config.AppProperties;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Verifies access tokens with a signing key and parser built once from jwt.secret.
+ *
+ * Each token is parsed and verified a single time into a {@link VerifiedToken}. Recently verified tokens are
+ * kept until they expire in a bounded cache of app.jwt.verifiedTokenCacheSize entries (0 disables it), keyed
+ * by the SHA-256 digest of the token so the cache never holds a usable credential. Tokens that fail
+ * verification are not cached.
+ */
+@Component
+public class JwtVerifier {
+
+    /**
+     * Claims of a verified token
+     *
+     * @param subject   the user's email
+     * @param userId    the "id" claim, null for tokens issued without one
+     * @param roles     the "roles" claim, e.g. ROLE_CLIENT_ADMIN
+     * @param expiresAt the expiry, null for tokens issued without one
+     */
+    public record VerifiedToken(String subject, String userId, List<String> roles, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secretKey, AppProperties appProperties) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
+        int cacheSize = appProperties.getJwt().getVerifiedTokenCacheSize();
+        this.verified = cacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
+
+    /**
+     * Verify the signature and expiry of a token and return its claims
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (verified == null) {
+            return parse(token);
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken parsed = parse(token);
+        if (parsed.expiresAt() != null) {
+            verified.put(digest, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Key the tokens are signed with
+     */
+    SecretKey key() {
+        return key;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        List<String> roles = claims.get("roles") instanceof List<?> list
+                ? list.stream().filter(String.class::isInstance).map(String.class::cast).toList()
+                : List.of();
+        return new VerifiedToken(claims.getSubject(), claims.get("id", String.class), roles,
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    private static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package talentcapitalme.com.comparatio.service;
+
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, in-memory index over one client's active adjustment matrix cells.
+ *
+ * Cells are grouped by performance bucket and sorted by {@code compaFrom}; a lookup is a binary search
+ * followed by a short backwards scan, so it answers the same question as
+ * {@code AdjustmentMatrixRepository.findClientActiveCell} without a database round-trip.
+ * Both range bounds are inclusive. When two cells share a boundary value the cell that came first
+ * in the source list wins, matching the natural-order result of the repository query.
+ */
+public final class MatrixIndex {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final String clientId;
+    private final long version;
+    private final Instant builtAt;
+    private final int cellCount;
+    private final BucketIndex[] buckets; // indexed by perfBucket
+
+    private MatrixIndex(String clientId, BucketIndex[] buckets, int cellCount) {
+        this.clientId = clientId;
+        this.version = VERSIONS.incrementAndGet();
+        this.builtAt = Instant.now();
+        this.buckets = buckets;
+        this.cellCount = cellCount;
+    }
+
+    /**
+     * Compile an index from the client's active matrix cells.
+     * Cells without a bucket or range are ignored, as the repository query could never match them.
+     */
+    public static MatrixIndex build(String clientId, List<AdjustmentMatrix> cells) {
+        int maxBucket = 0;
+        List<AdjustmentMatrix> usable = new ArrayList<>(cells.size());
+        for (AdjustmentMatrix cell : cells) {
+            if (cell.getPerfBucket() == null || cell.getPerfBucket() < 0
+                    || cell.getCompaFrom() == null || cell.getCompaTo() == null) {
+                continue;
+            }
+            usable.add(cell);
+            maxBucket = Math.max(maxBucket, cell.getPerfBucket());
+        }
+
+        BucketIndex[] buckets = new BucketIndex[maxBucket + 1];
+        for (int bucket = 0; bucket <= maxBucket; bucket++) {
+            List<Integer> ordinals = new ArrayList<>();
+            for (int i = 0; i < usable.size(); i++) {
+                if (usable.get(i).getPerfBucket() == bucket) {
+                    ordinals.add(i);
+                }
+            }
+            if (!ordinals.isEmpty()) {
+                buckets[bucket] = BucketIndex.of(usable, ordinals);
+            }
+        }
+        return new MatrixIndex(clientId, buckets, usable.size());
+    }
+
+    /**
+     * Find the active cell whose [compaFrom, compaTo] range contains the compa ratio.
+     *
+     * @param perfBucket the performance bucket (1-3)
+     * @param compa the compa ratio as a decimal (e.g. 0.95)
+     * @return the matching cell, or null if no cell covers the ratio
+     */
+    public AdjustmentMatrix findCell(int perfBucket, BigDecimal compa) {
+        if (perfBucket < 0 || perfBucket >= buckets.length || buckets[perfBucket] == null) {
+            return null;
+        }
+        return buckets[perfBucket].find(compa);
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Monotonic build number; a newer index always has a higher version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public boolean isEmpty() {
+        return cellCount == 0;
+    }
+
+    /**
+     * Sorted interval arrays for a single performance bucket
+     */
+    private static final class BucketIndex {
+        private final BigDecimal[] from;
+        private final BigDecimal[] to;
+        private final BigDecimal[] maxToPrefix; // max(to[0..i]) lets the backwards scan stop early
+        private final int[] ordinal;           // position in the source list, used to break ties
+        private final AdjustmentMatrix[] cells;
+
+        private BucketIndex(BigDecimal[] from, BigDecimal[] to, BigDecimal[] maxToPrefix,
+                            int[] ordinal, AdjustmentMatrix[] cells) {
+            this.from = from;
+            this.to = to;
+            this.maxToPrefix = maxToPrefix;
+            this.ordinal = ordinal;
+            this.cells = cells;
+        }
+
+        static BucketIndex of(List<AdjustmentMatrix> source, List<Integer> ordinals) {
+            ordinals.sort(Comparator.<Integer, BigDecimal>comparing(o -> source.get(o).getCompaFrom())
+                    .thenComparingInt(o -> o));
+            int n = ordinals.size();
+            BigDecimal[] from = new BigDecimal[n];
+            BigDecimal[] to = new BigDecimal[n];
+            BigDecimal[] maxToPrefix = new BigDecimal[n];
+            int[] ordinal = new int[n];
+            AdjustmentMatrix[] cells = new AdjustmentMatrix[n];
+            for (int i = 0; i < n; i++) {
+                AdjustmentMatrix cell = source.get(ordinals.get(i));
+                cells[i] = cell;
+                ordinal[i] = ordinals.get(i);
+                from[i] = cell.getCompaFrom();
+                to[i] = cell.getCompaTo();
+                maxToPrefix[i] = i == 0 ? to[i] : to[i].max(maxToPrefix[i - 1]);
+            }
+            return new BucketIndex(from, to, maxToPrefix, ordinal, cells);
+        }
+
+        AdjustmentMatrix find(BigDecimal compa) {
+            int last = upperBound(compa) - 1; // last cell with from <= compa
+            AdjustmentMatrix match = null;
+            int matchOrdinal = Integer.MAX_VALUE;
+            for (int i = last; i >= 0 && maxToPrefix[i].compareTo(compa) >= 0; i--) {
+                if (to[i].compareTo(compa) >= 0 && ordinal[i] < matchOrdinal) {
+                    match = cells[i];
+                    matchOrdinal = ordinal[i];
+                }
+            }
+            return match;
+        }
+
+        private int upperBound(BigDecimal compa) {
+            int low = 0;
+            int high = from.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (from[mid].compareTo(compa) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
+
+import java.util.List;
+
+/**
+ * Builds and caches the per-client {@link MatrixIndex} used for matrix cell lookups, and the client's active
+ * matrix cells for the matrix listings. Both are evicted by every operation that changes a client's matrices.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatrixIndexService {
+
+    private final AdjustmentMatrixRepository matrixRepo;
+
+    /**
+     * Get the matrix index for a client, loading the active matrices once and caching the result
+     */
+    @Cacheable(value = "matrixIndexes", key = "#clientId", condition = "#clientId != null")
+    public MatrixIndex getIndex(String clientId) {
+        List<AdjustmentMatrix> cells = matrixRepo.findByClientIdAndActiveTrue(clientId);
+        MatrixIndex index = MatrixIndex.build(clientId, cells);
+        log.info("Built matrix index v{} for client {} with {} active cells",
+                index.getVersion(), clientId, index.getCellCount());
+        return index;
+    }
+
+    /**
+     * Get the active matrices of a client, cached; callers check access to the client first.
+     * The list is unmodifiable and its cells are shared, so they must not be changed.
+     */
+    @Cacheable(value = "matrices", key = "#clientId", condition = "#clientId != null")
+    public List<AdjustmentMatrix> getActiveMatrices(String clientId) {
+        return List.copyOf(matrixRepo.findByClientIdAndActiveTrue(clientId));
+    }
+}
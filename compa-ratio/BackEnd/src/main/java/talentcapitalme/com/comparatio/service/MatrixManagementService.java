@@ -14,6 +14,7 @@ import talentcapitalme.com.comparatio.exception.ValidationException;
 import talentcapitalme.com.comparatio.repository.AdjustmentMatrixRepository;
 import talentcapitalme.com.comparatio.repository.UserRepository;
 import talentcapitalme.com.comparatio.security.Authz;
+import talentcapitalme.com.comparatio.security.PrincipalSnapshot;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -26,15 +27,17 @@ public class MatrixManagementService implements IMatrixManagementService {
     private final AdjustmentMatrixRepository matrixRepo;
     private final UserRepository userRepo;
     private final MatrixSeederService seederService;
+    private final MatrixIndexService matrixIndexService;
 
     /**
      * Get all matrices for a specific client with comprehensive validation
+     * Access is checked on every call; the matrices themselves are served from the "matrices" cache.
      */
 
     public List<AdjustmentMatrix> getClientMatrices(String clientId) {
         validateClientAccess(clientId);
         log.info("Retrieving matrices for client: {}", clientId);
-        return matrixRepo.findByClientIdAndActiveTrue(clientId);
+        return matrixIndexService.getActiveMatrices(clientId);
     }
 
     /**
@@ -58,7 +61,7 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Create a new matrix with comprehensive validation
      */
     @Transactional
-    @CacheEvict(value = "matrices", key = "#clientId")
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public AdjustmentMatrix createMatrix(String clientId, AdjustmentMatrix matrix) {
         validateClientAccess(clientId);
         validateMatrixData(matrix);
@@ -79,6 +82,7 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Update an existing matrix with comprehensive validation
      */
     @Transactional
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public AdjustmentMatrix updateMatrix(String matrixId, String clientId, AdjustmentMatrix matrixUpdate) {
         validateClientAccess(clientId);
         
@@ -113,6 +117,7 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Delete a matrix with validation
      */
     @Transactional
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public void deleteMatrix(String matrixId, String clientId) {
         validateClientAccess(clientId);
         
@@ -137,6 +142,7 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Bulk update matrices for a client
      */
     @Transactional
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public List<AdjustmentMatrix> bulkUpdateMatrices(String clientId, List<AdjustmentMatrix> matrices) {
         validateClientAccess(clientId);
         
@@ -165,6 +171,7 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Reset matrices to default for a client
      */
     @Transactional
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public List<AdjustmentMatrix> resetToDefaultMatrices(String clientId) {
         validateClientAccess(clientId);
         
@@ -186,7 +193,8 @@ public class MatrixManagementService implements IMatrixManagementService {
      * Validate client access based on user role
      */
     private void validateClientAccess(String clientId) {
-        UserRole currentRole = Authz.getCurrentUserRole();
+        PrincipalSnapshot principal = Authz.current();
+        UserRole currentRole = principal.role();
         
         if (currentRole == UserRole.SUPER_ADMIN) {
             // Super admin can access any client
@@ -206,8 +214,7 @@ public class MatrixManagementService implements IMatrixManagementService {
             
         } else if (currentRole == UserRole.CLIENT_ADMIN) {
             // Client admin can only access their own matrices
-            String userClientId = Authz.getCurrentUserClientId();
-            if (!clientId.equals(userClientId)) {
+            if (!clientId.equals(principal.clientId())) {
                 throw new ValidationException("Access denied: You can only manage your own matrices");
             }
         } else {
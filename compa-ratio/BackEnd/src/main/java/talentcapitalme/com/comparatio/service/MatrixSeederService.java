@@ -1,6 +1,7 @@
 package talentcapitalme.com.comparatio.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
 import talentcapitalme.com.comparatio.exception.ValidationException;
@@ -15,6 +16,7 @@ public class MatrixSeederService implements IMatrixSeederService {
 
     private final AdjustmentMatrixRepository repo;
 
+    @CacheEvict(value = {"matrices", "matrixIndexes"}, key = "#clientId")
     public void seedDefaultsForClient(String clientId) {
         if (clientId == null || clientId.trim().isEmpty()) {
             throw new ValidationException("Client ID is required");
@@ -1,29 +1,20 @@
 package talentcapitalme.com.comparatio.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import talentcapitalme.com.comparatio.entity.User;
 import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
-import talentcapitalme.com.comparatio.repository.UserRepository;
 import talentcapitalme.com.comparatio.security.Authz;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PerformanceRatingService {
 
-    private final UserRepository userRepository;
-
     /**
-     * Get the performance rating scale for the current user/client
+     * Get the performance rating scale for the current user/client, from the request's principal snapshot
      */
     public PerformanceRatingScale getUserPerformanceRatingScale() {
-        String userId = Authz.getCurrentUserId();
-        log.debug("Retrieving performance rating scale for user ID: {}", userId);
-        return userRepository.findById(userId)
-                .map(User::getPerformanceRatingScale)
-                .orElse(PerformanceRatingScale.FIVE_POINT); // Default to 5-point scale
+        PerformanceRatingScale scale = Authz.current().scale();
+        return scale != null ? scale : PerformanceRatingScale.FIVE_POINT; // Default to 5-point scale
     }
 
     /**
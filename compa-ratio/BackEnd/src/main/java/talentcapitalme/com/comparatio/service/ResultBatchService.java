@@ -0,0 +1,498 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.entity.ActiveBatch;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.ClientStats;
+import talentcapitalme.com.comparatio.entity.HeatmapCell;
+import talentcapitalme.com.comparatio.entity.RetiredBatch;
+import talentcapitalme.com.comparatio.repository.ActiveBatchRepository;
+import talentcapitalme.com.comparatio.repository.CalculationResultRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Versioned publishing of bulk calculation results.
+ *
+ * Every upload writes its results under a new batch id. Once the batch is complete the client's
+ * {@link ActiveBatch} pointer is flipped to it in a single atomic update, and the previous batch is
+ * queued for the background reclaimer. Readers resolve the pointer first, so they always see one
+ * complete batch and never wait for (or observe) a delete. A retired batch is kept for
+ * {@code app.bulk.reclaimGraceMs}, so readers still paging or downloading it can finish.
+ */
+@Slf4j
+@Service
+@Order(2)
+@RequiredArgsConstructor
+public class ResultBatchService implements CommandLineRunner {
+
+    private static final String[] TABLE_FIELDS = {"employeeCode", "employeeName", "jobTitle", "yearsExperience",
+            "perfBucket", "currentSalary", "midOfScale", "compaRatio", "compaLabel", "increasePct", "newSalary",
+            "increaseAmount"};
+    private static final int STREAM_BATCH_SIZE = 1000; // documents per cursor round trip when streaming a batch
+
+    private final MongoTemplate mongoTemplate;
+    private final ActiveBatchRepository activeBatchRepository;
+    private final CalculationResultRepository resultRepo;
+    private final AppProperties appProperties;
+    private final CacheManager cacheManager;
+
+    /**
+     * Make a fully written batch the client's active batch.
+     * The previous active batch, if any, is retired in the same update.
+     */
+    public void publish(String clientId, String batchId, long resultCount) {
+        Date now = Date.from(Instant.now());
+        Document previousOrEmpty = new Document("$ifNull", List.of("$retiredBatches", List.of()));
+        Document hadOtherBatch = new Document("$and", List.of(
+                new Document("$ne", Arrays.asList(new Document("$ifNull", Arrays.asList("$batchId", null)), null)),
+                new Document("$ne", List.of("$batchId", batchId))));
+        Document retiredBatch = new Document("batchId", "$batchId").append("retiredAt", now);
+        Document set = new Document()
+                .append("retiredBatches", new Document("$cond", List.of(hadOtherBatch,
+                        new Document("$concatArrays", List.of(previousOrEmpty, List.of(retiredBatch))),
+                        previousOrEmpty)))
+                .append("batchId", new Document("$literal", batchId))
+                .append("resultCount", resultCount)
+                .append("publishedAt", now)
+                .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)));
+
+        AggregationOperation setStage = context -> new Document("$set", set);
+        mongoTemplate.update(ActiveBatch.class)
+                .matching(Query.query(Criteria.where("_id").is(clientId)))
+                .apply(AggregationUpdate.from(List.of(setStage)))
+                .upsert();
+        log.info("Published batch {} ({} results) as active batch for client {}", batchId, resultCount, clientId);
+    }
+
+    /**
+     * Hand a batch that will never be published (e.g. a failed insert) to the reclaimer
+     */
+    public void discard(String clientId, String batchId) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(clientId)),
+                new Update().push("retiredBatches", new RetiredBatch(batchId, Instant.now())), ActiveBatch.class);
+        log.info("Discarded unpublished batch {} for client {}", batchId, clientId);
+    }
+
+    /**
+     * Get the client's active batch id, or null if nothing has been published yet
+     */
+    public String getActiveBatchId(String clientId) {
+        if (clientId == null) {
+            return null;
+        }
+        return activeBatchRepository.findById(clientId)
+                .map(ActiveBatch::getBatchId)
+                .orElse(null);
+    }
+
+    /**
+     * Get all results of the client's active batch
+     */
+    public List<CalculationResult> findActiveResults(String clientId) {
+        String batchId = getActiveBatchId(clientId);
+        if (batchId == null) {
+            return List.of();
+        }
+        return resultRepo.findByClientIdAndBatchId(clientId, batchId);
+    }
+
+    /**
+     * Get one page of the client's active batch
+     */
+    public Page<CalculationResult> findActiveResults(String clientId, Pageable pageable) {
+        String batchId = getActiveBatchId(clientId);
+        if (batchId == null) {
+            return Page.empty(pageable);
+        }
+        return findBatchResults(clientId, batchId, pageable);
+    }
+
+    /**
+     * Get one page of a batch; the total comes from {@link #countBatchResults} instead of a count query
+     */
+    public Page<CalculationResult> findBatchResults(String clientId, String batchId, Pageable pageable) {
+        Query query = batchQuery(clientId, batchId).with(pageable);
+        List<CalculationResult> content = mongoTemplate.find(query, CalculationResult.class);
+        return PageableExecutionUtils.getPage(content, pageable, () -> countBatchResults(clientId, batchId));
+    }
+
+    /**
+     * Get up to {@code limit} results of a batch in (sortBy, _id) order, starting after the cursor,
+     * or at the beginning when the cursor is null
+     */
+    public List<CalculationResult> findBatchResultsAfter(String clientId, String batchId, String sortBy,
+                                                         Sort.Direction direction, ResultCursor cursor, int limit) {
+        Query query = batchQuery(clientId, batchId);
+        if (cursor != null) {
+            query.addCriteria(keysetCriteria(cursor));
+        }
+        query.with(Sort.by(direction, sortBy).and(Sort.by(direction, "_id"))).limit(limit);
+        return mongoTemplate.find(query, CalculationResult.class);
+    }
+
+    /**
+     * Get one page of a batch in employee code order, with only the fields shown in the results table
+     */
+    public List<CalculationResult> findBatchTablePage(String clientId, String batchId, int page, int size) {
+        Query query = tableQuery(clientId, batchId).skip((long) page * size).limit(size);
+        return mongoTemplate.find(query, CalculationResult.class);
+    }
+
+    /**
+     * Stream a whole batch in employee code order, with only the fields shown in the results table.
+     * Documents are read from a server-side cursor as the stream is consumed; the caller must close it.
+     */
+    public Stream<CalculationResult> streamBatchTableRows(String clientId, String batchId) {
+        Query query = tableQuery(clientId, batchId).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, CalculationResult.class);
+    }
+
+    /**
+     * Count the results of a batch. Uses the count recorded in the batch's statistics rollup once the batch
+     * has been fully written, keeping it in the batchCounts cache, and only falls back to a count query for
+     * batches without one.
+     */
+    public long countBatchResults(String clientId, String batchId) {
+        String key = ClientStats.idOf(clientId, batchId);
+        Cache batchCounts = cacheManager.getCache("batchCounts");
+        Long recorded = batchCounts.get(key, Long.class);
+        if (recorded != null) {
+            return recorded;
+        }
+        Query rollupQuery = Query.query(Criteria.where("_id").is(key));
+        rollupQuery.fields().include("count");
+        ClientStats rollup = mongoTemplate.findOne(rollupQuery, ClientStats.class);
+        if (rollup != null) {
+            batchCounts.put(key, rollup.getCount()); // a fully written batch never changes
+            return rollup.getCount();
+        }
+        return mongoTemplate.count(batchQuery(clientId, batchId), CalculationResult.class);
+    }
+
+    /**
+     * Batch query sorted by (employeeCode, _id), served by the client_batch_employee_code_id index
+     */
+    private static Query tableQuery(String clientId, String batchId) {
+        Query query = batchQuery(clientId, batchId).with(Sort.by("employeeCode").and(Sort.by("_id")));
+        query.fields().include(TABLE_FIELDS);
+        return query;
+    }
+
+    private static Query batchQuery(String clientId, String batchId) {
+        return Query.query(Criteria.where("clientId").is(clientId).and("batchId").is(batchId));
+    }
+
+    /**
+     * Rows strictly after the cursor in (sortBy, _id) order. Missing sort keys sort as null,
+     * i.e. first when ascending and last when descending.
+     */
+    private static Criteria keysetCriteria(ResultCursor cursor) {
+        String key = cursor.sortBy();
+        Object value = cursor.value();
+        boolean ascending = cursor.direction().isAscending();
+        Criteria sameKeyAfterId = ascending
+                ? Criteria.where(key).is(value).and("_id").gt(cursor.id())
+                : Criteria.where(key).is(value).and("_id").lt(cursor.id());
+        if (value == null) {
+            return ascending ? new Criteria().orOperator(Criteria.where(key).ne(null), sameKeyAfterId) : sameKeyAfterId;
+        }
+        return ascending
+                ? new Criteria().orOperator(Criteria.where(key).gt(value), sameKeyAfterId)
+                : new Criteria().orOperator(Criteria.where(key).lt(value), Criteria.where(key).is(null), sameKeyAfterId);
+    }
+
+    /**
+     * Count the results of the client's active batch from the pointer, without touching calculation_results
+     */
+    public long countActiveResults(String clientId) {
+        if (clientId == null) {
+            return 0;
+        }
+        return activeBatchRepository.findById(clientId)
+                .map(ActiveBatch::getResultCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Count the results of the active batches of several clients with one query.
+     * Clients that have not published a batch are omitted.
+     */
+    public Map<String, Long> countActiveResults(Collection<String> clientIds) {
+        Map<String, Long> counts = new HashMap<>();
+        for (ActiveBatch pointer : activeBatchRepository.findAllById(clientIds)) {
+            counts.put(pointer.getClientId(), pointer.getResultCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Count the results of every client's active batch
+     */
+    public long countAllActiveResults() {
+        Long total = activeBatchRepository.sumResultCounts();
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Summarize the client's active batch with one aggregation round trip
+     */
+    public ResultStatistics summarizeActiveResults(String clientId) {
+        String batchId = getActiveBatchId(clientId);
+        if (batchId == null) {
+            return ResultStatistics.EMPTY;
+        }
+        return summarizeBatch(clientId, batchId);
+    }
+
+    /**
+     * Summarize one batch with one aggregation round trip.
+     * Falls back to loading the batch and summarizing it in memory if the aggregation fails.
+     */
+    public ResultStatistics summarizeBatch(String clientId, String batchId) {
+        try {
+            return aggregateStatistics(clientId, batchId);
+        } catch (DataAccessException e) {
+            log.warn("Statistics aggregation failed for client {} batch {}, summarizing in memory: {}",
+                    clientId, batchId, e.getMessage());
+            return ResultStatistics.of(resultRepo.findByClientIdAndBatchId(clientId, batchId));
+        }
+    }
+
+    /**
+     * Build the increase sketches of one batch, streaming only the increase fields from a cursor
+     */
+    public IncreaseSketches sketchBatch(String clientId, String batchId) {
+        Query query = batchQuery(clientId, batchId).cursorBatchSize(STREAM_BATCH_SIZE);
+        query.fields().include("increasePct", "currentSalary", "newSalary");
+        IncreaseSketches sketches = new IncreaseSketches();
+        try (Stream<CalculationResult> results = mongoTemplate.stream(query, CalculationResult.class)) {
+            results.forEach(r -> sketches.add(r.getIncreasePct(),
+                    r.getCurrentSalary() != null && r.getNewSalary() != null
+                            ? r.getNewSalary().subtract(r.getCurrentSalary()) : null));
+        }
+        return sketches;
+    }
+
+    /**
+     * Headcount, current salary and increase totals per (perfBucket, compaLabel) of one batch, with a single $group
+     */
+    public List<HeatmapCell> aggregateHeatmap(String clientId, String batchId) {
+        Document current = new Document("$toDecimal", "$currentSalary");
+        Document increase = new Document("$subtract", List.of(new Document("$toDecimal", "$newSalary"), current));
+        Document group = new Document("_id", new Document("perfBucket", "$perfBucket").append("compaLabel", "$compaLabel"))
+                .append("headcount", new Document("$sum", 1))
+                .append("totalCurrent", new Document("$sum", current))
+                .append("totalIncrease", new Document("$sum", increase));
+
+        AggregationOperation groupStage = context -> new Document("$group", group);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("clientId").is(clientId).and("batchId").is(batchId)),
+                groupStage);
+        List<HeatmapCell> cells = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(CalculationResult.class), Document.class)) {
+            Document key = result.get("_id", Document.class);
+            cells.add(HeatmapCell.builder()
+                    .perfBucket(key.getInteger("perfBucket"))
+                    .compaLabel(key.getString("compaLabel"))
+                    .headcount(((Number) result.get("headcount")).longValue())
+                    .totalCurrentSalary(toBigDecimal(result.get("totalCurrent")))
+                    .totalIncrease(toBigDecimal(result.get("totalIncrease")))
+                    .build());
+        }
+        return cells;
+    }
+
+    private ResultStatistics aggregateStatistics(String clientId, String batchId) {
+        Document project = new Document()
+                .append("current", new Document("$toDecimal", "$currentSalary"))
+                .append("new", new Document("$toDecimal", "$newSalary"))
+                .append("pct", new Document("$toDecimal", "$increasePct"));
+        Document amount = new Document("$subtract", List.of("$new", "$current"));
+        Document group = new Document("_id", null)
+                .append("count", new Document("$sum", 1))
+                .append("totalCurrent", new Document("$sum", "$current"))
+                .append("totalNew", new Document("$sum", "$new"))
+                .append("pctCount", new Document("$sum", positive("$pct", 1, 0)))
+                .append("pctSum", new Document("$sum", positive("$pct", "$pct", 0)))
+                .append("pctMin", new Document("$min", positive("$pct", "$pct", null)))
+                .append("pctMax", new Document("$max", positive("$pct", "$pct", null)))
+                .append("amountCount", new Document("$sum", positive(amount, 1, 0)))
+                .append("amountSum", new Document("$sum", positive(amount, amount, 0)))
+                .append("amountMin", new Document("$min", positive(amount, amount, null)))
+                .append("amountMax", new Document("$max", positive(amount, amount, null)));
+        List<Integer> bounds = ResultStatistics.INCREASE_PCT_BUCKET_BOUNDS;
+        for (int bucket = 0; bucket <= bounds.size(); bucket++) {
+            Object lower = bucket == 0 ? new Document("$gt", List.of("$pct", 0))
+                    : new Document("$gte", List.of("$pct", bounds.get(bucket - 1)));
+            Object inBucket = bucket == bounds.size() ? lower
+                    : new Document("$and", List.of(lower, new Document("$lt", List.of("$pct", bounds.get(bucket)))));
+            group.append("pctBucket" + bucket, new Document("$sum", new Document("$cond", List.of(inBucket, 1, 0))));
+        }
+
+        AggregationOperation projectStage = context -> new Document("$project", project);
+        AggregationOperation groupStage = context -> new Document("$group", group);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("clientId").is(clientId).and("batchId").is(batchId)),
+                projectStage,
+                groupStage);
+        Document result = mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(CalculationResult.class), Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return ResultStatistics.EMPTY;
+        }
+
+        List<Long> histogram = new ArrayList<>(bounds.size() + 1);
+        for (int bucket = 0; bucket <= bounds.size(); bucket++) {
+            histogram.add(((Number) result.get("pctBucket" + bucket)).longValue());
+        }
+
+        return ResultStatistics.builder()
+                .count(((Number) result.get("count")).longValue())
+                .totalCurrentSalary(toBigDecimal(result.get("totalCurrent")))
+                .totalNewSalary(toBigDecimal(result.get("totalNew")))
+                .increasePctCount(((Number) result.get("pctCount")).longValue())
+                .increasePctSum(toBigDecimal(result.get("pctSum")))
+                .increasePctMin(toBigDecimal(result.get("pctMin")))
+                .increasePctMax(toBigDecimal(result.get("pctMax")))
+                .increasePctHistogram(List.copyOf(histogram))
+                .increaseAmountCount(((Number) result.get("amountCount")).longValue())
+                .increaseAmountSum(toBigDecimal(result.get("amountSum")))
+                .increaseAmountMin(toBigDecimal(result.get("amountMin")))
+                .increaseAmountMax(toBigDecimal(result.get("amountMax")))
+                .build();
+    }
+
+    /**
+     * {@code value > 0 ? then : otherwise}; null values are not positive
+     */
+    private static Document positive(Object value, Object then, Object otherwise) {
+        return new Document("$cond", Arrays.asList(new Document("$gt", List.of(value, 0)), then, otherwise));
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Delete batches retired for longer than the grace period, and their statistics rollups, in the background
+     */
+    @Scheduled(fixedDelayString = "${app.bulk.reclaimIntervalMs:60000}")
+    public void reclaimRetiredBatches() {
+        Instant cutoff = Instant.now().minusMillis(appProperties.getBulk().getReclaimGraceMs());
+        for (ActiveBatch pointer : activeBatchRepository.findWithBatchesRetiredBefore(cutoff)) {
+            for (RetiredBatch retired : pointer.getRetiredBatches()) {
+                if (retired.getRetiredAt() != null && retired.getRetiredAt().isAfter(cutoff)) {
+                    continue; // readers may still be paging through it
+                }
+                String batchId = retired.getBatchId();
+                try {
+                    long deleted = resultRepo.deleteByClientIdAndBatchId(pointer.getClientId(), batchId);
+                    String rollupId = ClientStats.idOf(pointer.getClientId(), batchId);
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(rollupId)), ClientStats.class);
+                    cacheManager.getCache("batchCounts").evict(rollupId);
+                    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(pointer.getClientId())),
+                            new Update().pull("retiredBatches", new Document("batchId", batchId)), ActiveBatch.class);
+                    log.info("Reclaimed {} results of retired batch {} for client {}", deleted, batchId, pointer.getClientId());
+                } catch (Exception e) {
+                    log.error("Error reclaiming batch {} for client {}", batchId, pointer.getClientId(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create pointers for clients whose results were saved before batches were versioned.
+     * The most recent batch becomes active and any older ones are retired.
+     */
+    @Override
+    public void run(String... args) {
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("clientId").ne(null).and("batchId").ne(null)),
+                    Aggregation.group("clientId", "batchId").count().as("count").max("createdAt").as("createdAt"),
+                    Aggregation.sort(Sort.Direction.DESC, "createdAt"));
+            List<Document> batches = mongoTemplate.aggregate(aggregation, CalculationResult.class, Document.class)
+                    .getMappedResults();
+
+            Map<String, ActiveBatch> pointers = new HashMap<>();
+            for (Document batch : batches) {
+                Document key = batch.get("_id", Document.class);
+                String clientId = key.getString("clientId");
+                String batchId = key.getString("batchId");
+                ActiveBatch pointer = pointers.get(clientId);
+                if (pointer == null) {
+                    Date createdAt = batch.getDate("createdAt");
+                    pointers.put(clientId, ActiveBatch.builder()
+                            .clientId(clientId)
+                            .batchId(batchId)
+                            .resultCount(((Number) batch.get("count")).longValue())
+                            .publishedAt(createdAt != null ? createdAt.toInstant() : Instant.now())
+                            .version(1)
+                            .retiredBatches(new ArrayList<>())
+                            .build());
+                } else {
+                    pointer.getRetiredBatches().add(new RetiredBatch(batchId, Instant.now()));
+                }
+            }
+
+            int created = 0;
+            for (ActiveBatch pointer : pointers.values()) {
+                if (activeBatchRepository.existsById(pointer.getClientId())) {
+                    continue;
+                }
+                try {
+                    mongoTemplate.insert(pointer);
+                    created++;
+                } catch (DuplicateKeyException e) {
+                    // published concurrently by an upload, which takes precedence
+                }
+            }
+            if (created > 0) {
+                log.info("Created active batch pointers for {} clients", created);
+            }
+        } catch (Exception e) {
+            log.error("Error creating active batch pointers", e);
+        }
+    }
+
+}
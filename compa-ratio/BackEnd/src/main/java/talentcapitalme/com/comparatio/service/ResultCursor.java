@@ -0,0 +1,74 @@
+package talentcapitalme.com.comparatio.service;
+
+import org.springframework.data.domain.Sort;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position in a keyset-paginated listing of calculation results: the sort key and id of the last row served.
+ * The next page continues strictly after it in (sortBy, _id) order, so deep pages cost the same as the first.
+ * Clients receive it as an opaque, URL-safe string.
+ *
+ * Encoded form, before Base64: sortBy, direction and id on their own lines, then the sort value prefixed with
+ * {@code +}, or a lone {@code -} when the value is null. The flag keeps a null value apart from an empty one, and
+ * the value comes last so it may itself contain line breaks.
+ */
+public record ResultCursor(String sortBy, Sort.Direction direction, Object value, String id) {
+
+    /** Sort fields a cursor can be keyed on; createdAt is shared by a whole batch, so _id breaks ties */
+    public static final Set<String> SORT_FIELDS = Set.of("createdAt", "employeeCode");
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String PRESENT = "+";
+    private static final String ABSENT = "-";
+
+    public static boolean supports(String sortBy) {
+        return SORT_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * Cursor pointing after the given row
+     */
+    public static ResultCursor after(CalculationResult last, String sortBy, Sort.Direction direction) {
+        Object value = "createdAt".equals(sortBy) ? last.getCreatedAt() : last.getEmployeeCode();
+        return new ResultCursor(sortBy, direction, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy + "\n" + direction.name() + "\n" + id + "\n" + (value != null ? PRESENT + value : ABSENT);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor previously returned by {@link #encode()}
+     *
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static ResultCursor decode(String cursor) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\n", 4);
+            if (parts.length != 4 || !supports(parts[0]) || parts[2].isEmpty()) {
+                throw new ValidationException("Invalid cursor");
+            }
+            Object value;
+            if (parts[3].equals(ABSENT)) {
+                value = null;
+            } else if (parts[3].startsWith(PRESENT)) {
+                String text = parts[3].substring(PRESENT.length());
+                value = "createdAt".equals(parts[0]) ? Instant.parse(text) : text;
+            } else {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new ResultCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
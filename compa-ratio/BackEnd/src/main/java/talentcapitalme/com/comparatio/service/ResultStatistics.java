@@ -0,0 +1,173 @@
+package talentcapitalme.com.comparatio.service;
+
+import lombok.Builder;
+import lombok.Value;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.HeatmapCell;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totals and increase distributions of one batch of calculation results.
+ * Produced by the server-side aggregation, read back from the client_stats rollup or, as a fallback,
+ * by {@link #of(Iterable)} in a single pass.
+ * Increase statistics only cover strictly positive increases; min/max are null when there are none.
+ * The serialized {@link IncreaseSketches} and the heatmap are built by {@link #of(Iterable)}; the aggregation leaves
+ * them null and {@link ClientStatsService} computes them before storing a rollup, so stored rollups always have them.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ResultStatistics {
+
+    /**
+     * Upper bounds (exclusive, in percent) of the increase histogram buckets; the last bucket is open ended.
+     * Bucket 0 holds increases in (0, 5), bucket 1 [5, 10), ..., bucket 5 [25, infinity).
+     */
+    public static final List<Integer> INCREASE_PCT_BUCKET_BOUNDS = List.of(5, 10, 15, 20, 25);
+
+    public static final ResultStatistics EMPTY = ResultStatistics.builder()
+            .totalCurrentSalary(BigDecimal.ZERO)
+            .totalNewSalary(BigDecimal.ZERO)
+            .increasePctSum(BigDecimal.ZERO)
+            .increaseAmountSum(BigDecimal.ZERO)
+            .increasePctHistogram(Collections.nCopies(INCREASE_PCT_BUCKET_BOUNDS.size() + 1, 0L))
+            .build();
+
+    long count;
+    BigDecimal totalCurrentSalary;
+    BigDecimal totalNewSalary;
+
+    long increasePctCount;
+    BigDecimal increasePctSum;
+    BigDecimal increasePctMin;
+    BigDecimal increasePctMax;
+    List<Long> increasePctHistogram; // counts per INCREASE_PCT_BUCKET_BOUNDS bucket
+
+    long increaseAmountCount;      // increase amount = newSalary - currentSalary
+    BigDecimal increaseAmountSum;
+    BigDecimal increaseAmountMin;
+    BigDecimal increaseAmountMax;
+
+    byte[] increasePctSketch;      // see IncreaseSketches
+    byte[] increaseAmountSketch;
+
+    List<HeatmapCell> heatmap;     // per (perfBucket, compaLabel), null when not computed
+
+    /**
+     * Summarize results in memory
+     */
+    public static ResultStatistics of(Iterable<CalculationResult> results) {
+        Accumulator accumulator = new Accumulator();
+        for (CalculationResult r : results) {
+            accumulator.add(r);
+        }
+        return accumulator.build();
+    }
+
+    /**
+     * Histogram bucket of a positive increase percentage
+     */
+    public static int increasePctBucket(BigDecimal pct) {
+        int bucket = 0;
+        while (bucket < INCREASE_PCT_BUCKET_BOUNDS.size()
+                && pct.compareTo(BigDecimal.valueOf(INCREASE_PCT_BUCKET_BOUNDS.get(bucket))) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Incremental, single-threaded builder of {@link ResultStatistics}, fed one result at a time
+     */
+    public static final class Accumulator {
+
+        private long count;
+        private BigDecimal totalCurrent = BigDecimal.ZERO;
+        private BigDecimal totalNew = BigDecimal.ZERO;
+        private long pctCount;
+        private BigDecimal pctSum = BigDecimal.ZERO;
+        private BigDecimal pctMin;
+        private BigDecimal pctMax;
+        private final long[] pctHistogram = new long[INCREASE_PCT_BUCKET_BOUNDS.size() + 1];
+        private long amountCount;
+        private BigDecimal amountSum = BigDecimal.ZERO;
+        private BigDecimal amountMin;
+        private BigDecimal amountMax;
+        private final IncreaseSketches sketches = new IncreaseSketches();
+        private final Map<List<Object>, HeatmapCell> heatmap = new HashMap<>();
+
+        public Accumulator add(CalculationResult r) {
+            count++;
+            if (r.getCurrentSalary() != null) {
+                totalCurrent = totalCurrent.add(r.getCurrentSalary());
+            }
+            if (r.getNewSalary() != null) {
+                totalNew = totalNew.add(r.getNewSalary());
+            }
+            BigDecimal pct = r.getIncreasePct();
+            if (pct != null && pct.signum() > 0) {
+                pctCount++;
+                pctSum = pctSum.add(pct);
+                pctMin = pctMin == null ? pct : pctMin.min(pct);
+                pctMax = pctMax == null ? pct : pctMax.max(pct);
+                pctHistogram[increasePctBucket(pct)]++;
+            }
+            BigDecimal amount = null;
+            if (r.getCurrentSalary() != null && r.getNewSalary() != null) {
+                amount = r.getNewSalary().subtract(r.getCurrentSalary());
+                if (amount.signum() > 0) {
+                    amountCount++;
+                    amountSum = amountSum.add(amount);
+                    amountMin = amountMin == null ? amount : amountMin.min(amount);
+                    amountMax = amountMax == null ? amount : amountMax.max(amount);
+                }
+            }
+            sketches.add(pct, amount);
+            HeatmapCell cell = heatmap.computeIfAbsent(Arrays.asList(r.getPerfBucket(), r.getCompaLabel()),
+                    key -> HeatmapCell.builder()
+                            .perfBucket(r.getPerfBucket())
+                            .compaLabel(r.getCompaLabel())
+                            .totalCurrentSalary(BigDecimal.ZERO)
+                            .totalIncrease(BigDecimal.ZERO)
+                            .build());
+            cell.setHeadcount(cell.getHeadcount() + 1);
+            if (r.getCurrentSalary() != null) {
+                cell.setTotalCurrentSalary(cell.getTotalCurrentSalary().add(r.getCurrentSalary()));
+            }
+            if (amount != null) {
+                cell.setTotalIncrease(cell.getTotalIncrease().add(amount));
+            }
+            return this;
+        }
+
+        public ResultStatistics build() {
+            List<Long> histogram = new ArrayList<>(pctHistogram.length);
+            for (long bucketCount : pctHistogram) {
+                histogram.add(bucketCount);
+            }
+            return ResultStatistics.builder()
+                    .count(count)
+                    .totalCurrentSalary(totalCurrent)
+                    .totalNewSalary(totalNew)
+                    .increasePctCount(pctCount)
+                    .increasePctSum(pctSum)
+                    .increasePctMin(pctMin)
+                    .increasePctMax(pctMax)
+                    .increasePctHistogram(List.copyOf(histogram))
+                    .increaseAmountCount(amountCount)
+                    .increaseAmountSum(amountSum)
+                    .increaseAmountMin(amountMin)
+                    .increaseAmountMax(amountMax)
+                    .increasePctSketch(sketches.increasePctBytes())
+                    .increaseAmountSketch(sketches.increaseAmountBytes())
+                    .heatmap(List.copyOf(heatmap.values()))
+                    .build();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
@@ -22,13 +24,31 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class TemplateService implements ITemplateService {
 
+    private static final String BULK_UPLOAD_TEMPLATE_KEY = "bulkUpload";
+
+    private final CacheManager cacheManager;
+
     /**
      * Generate Excel template for bulk compensation calculation upload
+     * The template only depends on this code, so it is generated once and served from the "templates" cache.
      * 
-     * @return Excel file as byte array
+     * @return Excel file as byte array; a copy of the cached template, free for the caller to modify
      * @throws IOException if template generation fails
      */
     public byte[] generateBulkUploadTemplate() throws IOException {
+        try {
+            byte[] template = cacheManager.getCache("templates")
+                    .get(BULK_UPLOAD_TEMPLATE_KEY, this::buildBulkUploadTemplate);
+            return template.clone();
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] buildBulkUploadTemplate() throws IOException {
         log.info("Generating bulk upload template");
         
         try (Workbook workbook = new XSSFWorkbook()) {
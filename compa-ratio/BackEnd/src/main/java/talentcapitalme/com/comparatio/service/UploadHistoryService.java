@@ -114,6 +114,49 @@ public class UploadHistoryService implements IUploadHistoryService {
         return uploadHistoryRepository.save(uploadHistory);
     }
 
+    /**
+     * Mark upload as being processed
+     */
+    public UploadHistory markProcessing(String batchId, long fileSizeBytes) {
+        log.info("Processing started for batch: {}", batchId);
+        
+        UploadHistory uploadHistory = uploadHistoryRepository.findByBatchId(batchId)
+                .orElseThrow(() -> new RuntimeException("Upload history not found for batch: " + batchId));
+        
+        uploadHistory.setStatus(UploadHistory.UploadStatus.PROCESSING);
+        uploadHistory.setFileSizeBytes(fileSizeBytes);
+        uploadHistory.setUpdatedAt(Instant.now());
+        
+        return uploadHistoryRepository.save(uploadHistory);
+    }
+
+    /**
+     * Record the number of rows processed so far
+     */
+    public void updateProgress(String batchId, int processedRows) {
+        uploadHistoryRepository.findByBatchId(batchId).ifPresent(uploadHistory -> {
+            uploadHistory.setProcessedRows(processedRows);
+            uploadHistory.setUpdatedAt(Instant.now());
+            uploadHistoryRepository.save(uploadHistory);
+        });
+    }
+
+    /**
+     * Mark upload as cancelled
+     */
+    public UploadHistory markUploadCancelled(String batchId, int processedRows) {
+        log.info("Marking upload as cancelled for batch: {} after {} rows", batchId, processedRows);
+        
+        UploadHistory uploadHistory = uploadHistoryRepository.findByBatchId(batchId)
+                .orElseThrow(() -> new RuntimeException("Upload history not found for batch: " + batchId));
+        
+        uploadHistory.setStatus(UploadHistory.UploadStatus.CANCELLED);
+        uploadHistory.setProcessedRows(processedRows);
+        uploadHistory.setUpdatedAt(Instant.now());
+        
+        return uploadHistoryRepository.save(uploadHistory);
+    }
+
     /**
      * Get upload history by client ID
      */
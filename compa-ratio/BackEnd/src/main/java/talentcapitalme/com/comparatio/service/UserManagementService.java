@@ -1,6 +1,8 @@
 package talentcapitalme.com.comparatio.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import talentcapitalme.com.comparatio.entity.User;
 import talentcapitalme.com.comparatio.enumeration.UserRole;
@@ -19,6 +21,7 @@ public class UserManagementService implements IUserManagementService {
     private final UserRepository userRepository;
     private final AdjustmentMatrixRepository matrixRepository;
     private final MatrixSeederService matrixSeederService;
+    private final UserStatusService userStatusService;
 
     public List<User> getAllClientAdmins() {
         return userRepository.findByRole(UserRole.CLIENT_ADMIN);
@@ -35,6 +38,7 @@ public class UserManagementService implements IUserManagementService {
         return user;
     }
 
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public User createClientAdmin(User user) {
         if (userRepository.existsByName(user.getName())) {
             throw new ValidationException("CLIENT_ADMIN with name '" + user.getName() + "' already exists");
@@ -49,6 +53,10 @@ public class UserManagementService implements IUserManagementService {
         return savedUser;
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public User updateClientAdmin(String id, User userUpdate) {
         User existingUser = getClientAdminById(id);
 
@@ -64,25 +72,44 @@ public class UserManagementService implements IUserManagementService {
             existingUser.setActive(userUpdate.getActive());
         }
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        userStatusService.evict(id);
+        return savedUser;
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = {"matrices", "matrixIndexes", "users"}, key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public void deleteClientAdmin(String id) {
         getClientAdminById(id);
         matrixRepository.deleteByClientId(id);
         userRepository.deleteById(id);
+        userStatusService.evict(id);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public User activateClientAdmin(String id) {
         User user = getClientAdminById(id);
         user.setActive(true);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userStatusService.evict(id);
+        return savedUser;
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public User deactivateClientAdmin(String id) {
         User user = getClientAdminById(id);
         user.setActive(false);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userStatusService.evict(id);
+        return savedUser;
     }
 
     public List<User> getActiveClientAdmins() {
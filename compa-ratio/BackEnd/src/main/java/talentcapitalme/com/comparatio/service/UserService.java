@@ -1,13 +1,18 @@
 package talentcapitalme.com.comparatio.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.CacheConfig;
 import talentcapitalme.com.comparatio.dto.ProfileResponse;
 import talentcapitalme.com.comparatio.dto.ProfileUpdateRequest;
 import talentcapitalme.com.comparatio.dto.PerformanceRatingScaleUpdateRequest;
 import talentcapitalme.com.comparatio.dto.PerformanceRatingScaleResponse;
 import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
 import talentcapitalme.com.comparatio.enumeration.UserRole;
 import talentcapitalme.com.comparatio.exception.NotFoundException;
 import talentcapitalme.com.comparatio.repository.UserRepository;
@@ -23,6 +28,8 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserStatusService userStatusService;
+    private final PerformanceRatingService performanceRatingService;
 
     /**
      * Get all users (admin only)
@@ -44,6 +51,10 @@ public class UserService implements IUserService {
     /**
      * Update user (admin only)
      */
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public User updateUser(String id, User userUpdate) {
         Authz.requireUserManagementPermission();
 
@@ -76,12 +87,18 @@ public class UserService implements IUserService {
             }
         }
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        userStatusService.evict(id);
+        return savedUser;
     }
 
     /**
      * Delete user (admin only)
      */
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "dashboardStats", allEntries = true)
+    })
     public void deleteUser(String id) {
         Authz.requireUserManagementPermission();
         
@@ -92,6 +109,7 @@ public class UserService implements IUserService {
         }
         
         userRepository.deleteById(id);
+        userStatusService.evict(id);
     }
 
     /**
@@ -113,8 +131,9 @@ public class UserService implements IUserService {
     }
 
     /**
-     * Get current user's profile
+     * Get current user's profile, cached per user
      */
+    @Cacheable(value = "users", key = CacheConfig.CURRENT_USER_KEY)
     public ProfileResponse getCurrentUserProfile() {
         String currentUserId = Authz.getCurrentUserId();
         User user = userRepository.findById(currentUserId)
@@ -138,6 +157,7 @@ public class UserService implements IUserService {
     /**
      * Update current user's profile
      */
+    @CacheEvict(value = "users", key = CacheConfig.CURRENT_USER_KEY)
     public ProfileResponse updateCurrentUserProfile(ProfileUpdateRequest request) {
         String currentUserId = Authz.getCurrentUserId();
         User user = userRepository.findById(currentUserId)
@@ -167,6 +187,7 @@ public class UserService implements IUserService {
         }
 
         User savedUser = userRepository.save(user);
+        userStatusService.evict(currentUserId);
         
         return ProfileResponse.builder()
                 .id(savedUser.getId())
@@ -210,6 +231,7 @@ public class UserService implements IUserService {
     /**
      * Update user profile by ID (admin only)
      */
+    @CacheEvict(value = "users", key = "#userId")
     public ProfileResponse updateUserProfile(String userId, ProfileUpdateRequest request) {
         Authz.requireUserManagementPermission();
         
@@ -240,6 +262,7 @@ public class UserService implements IUserService {
         }
 
         User savedUser = userRepository.save(user);
+        userStatusService.evict(userId);
         
         return ProfileResponse.builder()
                 .id(savedUser.getId())
@@ -257,22 +280,21 @@ public class UserService implements IUserService {
     }
 
     /**
-     * Get current user's performance rating scale
+     * Get current user's performance rating scale, from the request's principal snapshot
      */
     public PerformanceRatingScaleResponse getCurrentPerformanceRatingScale() {
-        String currentUserId = Authz.getCurrentUserId();
-        User user = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        PerformanceRatingScale scale = performanceRatingService.getUserPerformanceRatingScale();
         
         log.info("Retrieved performance rating scale for user {}: {}", 
-                currentUserId, user.getPerformanceRatingScale());
+                Authz.getCurrentUserId(), scale);
         
-        return PerformanceRatingScaleResponse.from(user.getPerformanceRatingScale());
+        return PerformanceRatingScaleResponse.from(scale);
     }
 
     /**
      * Update current user's performance rating scale
      */
+    @CacheEvict(value = "users", key = CacheConfig.CURRENT_USER_KEY)
     public PerformanceRatingScaleResponse updatePerformanceRatingScale(PerformanceRatingScaleUpdateRequest request) {
         String currentUserId = Authz.getCurrentUserId();
         User user = userRepository.findById(currentUserId)
@@ -283,6 +305,7 @@ public class UserService implements IUserService {
         
         user.setPerformanceRatingScale(request.getPerformanceRatingScale());
         User savedUser = userRepository.save(user);
+        userStatusService.evict(currentUserId);
         
         log.info("Performance rating scale updated successfully for user {}: {}", 
                 currentUserId, savedUser.getPerformanceRatingScale());
@@ -0,0 +1,102 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.entity.User;
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+import talentcapitalme.com.comparatio.enumeration.UserRole;
+import talentcapitalme.com.comparatio.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Current role, active flag and settings of authenticated users, checked on every request carrying a JWT.
+ *
+ * The token already proves who the caller is; this answers whether the account may still use it and supplies
+ * the rating scale and currency of the request's {@link talentcapitalme.com.comparatio.security.PrincipalSnapshot}.
+ * Statuses are kept in a bounded cache for app.security.userStatusTtlMs, so a user is read from the
+ * database at most once per TTL. Every service that changes a user's role, active flag, scale or currency,
+ * or deletes a user, must call {@link #evict(String)} so the change applies to the next request on this node.
+ */
+@Slf4j
+@Service
+public class UserStatusService {
+
+    /**
+     * Role, active flag and settings of one user; a deleted user has no status
+     */
+    public record UserStatus(UserRole role, boolean active, PerformanceRatingScale scale, Currency currency) {
+
+        /**
+         * SUPER_ADMIN accounts are always enabled, CLIENT_ADMIN accounts only while their tenant is active
+         */
+        public boolean enabled() {
+            return role == UserRole.SUPER_ADMIN || active;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<UserStatus>> statuses;
+
+    public UserStatusService(UserRepository userRepository, AppProperties appProperties) {
+        this.userRepository = userRepository;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(appProperties.getSecurity().getUserStatusCacheSize())
+                .expireAfterWrite(Duration.ofMillis(appProperties.getSecurity().getUserStatusTtlMs()))
+                .build();
+    }
+
+    /**
+     * Status of a user, from the cache when fresh
+     */
+    public Optional<UserStatus> getStatus(String userId) {
+        return statuses.get(userId, this::loadStatus);
+    }
+
+    /**
+     * Status of a user that still exists, holds the given role and is enabled
+     */
+    public Optional<UserStatus> getEnabledStatus(String userId, UserRole role) {
+        return getStatus(userId)
+                .filter(status -> status.role() == role && status.enabled());
+    }
+
+    /**
+     * Whether a user still exists, holds the given role and is enabled
+     */
+    public boolean isEnabled(String userId, UserRole role) {
+        return getEnabledStatus(userId, role).isPresent();
+    }
+
+    /**
+     * Drop the cached status of a user after its role or active flag changed or it was deleted
+     */
+    public void evict(String userId) {
+        if (userId != null) {
+            statuses.invalidate(userId);
+        }
+    }
+
+    /**
+     * Drop every cached status, e.g. when changes to users may have been missed
+     */
+    public void evictAll() {
+        statuses.invalidateAll();
+    }
+
+    private Optional<UserStatus> loadStatus(String userId) {
+        log.debug("Loading status of user {}", userId);
+        return userRepository.findById(userId)
+                .map(this::toStatus);
+    }
+
+    private UserStatus toStatus(User user) {
+        return new UserStatus(user.getRole(), Boolean.TRUE.equals(user.getActive()),
+                user.getPerformanceRatingScale(), user.getCurrency());
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import talentcapitalme.com.comparatio.dto.BulkRowResult;
 import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
 import talentcapitalme.com.comparatio.service.PerformanceRatingService;
 
 import java.util.List;
@@ -24,11 +25,10 @@ public class CalculationResultMapper {
     /**
      * Convert performance bucket back to the correct rating based on user's scale
      * @param perfBucket the stored performance bucket (1, 2, or 3)
+     * @param userScale the user's performance rating scale
      * @return the correct performance rating for display
      */
-    private int convertBucketToRating(int perfBucket) {
-        var userScale = performanceRatingService.getUserPerformanceRatingScale();
-        
+    private int convertBucketToRating(int perfBucket, PerformanceRatingScale userScale) {
         switch (userScale) {
             case THREE_POINT:
                 // 3-point scale: bucket = rating (direct mapping)
@@ -54,8 +54,15 @@ public class CalculationResultMapper {
      * Used across multiple controllers for consistent mapping
      */
     public List<BulkRowResult> convertToBulkRowResults(List<CalculationResult> results) {
+        return convertToBulkRowResults(results, performanceRatingService.getUserPerformanceRatingScale());
+    }
+
+    /**
+     * Convert list of CalculationResult entities using an already resolved rating scale
+     */
+    public List<BulkRowResult> convertToBulkRowResults(List<CalculationResult> results, PerformanceRatingScale userScale) {
         return results.stream()
-                .map(this::convertToRowResult)
+                .map(result -> convertToRowResult(result, userScale))
                 .collect(Collectors.toList());
     }
 
@@ -64,13 +71,20 @@ public class CalculationResultMapper {
      * Centralized conversion logic with proper row indexing
      */
     public BulkRowResult convertToRowResult(CalculationResult result) {
+        return convertToRowResult(result, performanceRatingService.getUserPerformanceRatingScale());
+    }
+
+    /**
+     * Convert single CalculationResult entity using an already resolved rating scale
+     */
+    public BulkRowResult convertToRowResult(CalculationResult result, PerformanceRatingScale userScale) {
         return BulkRowResult.builder()
                 .rowIndex(0) // Will be set by calling method based on context
                 .employeeCode(result.getEmployeeCode())
                 .employeeName(result.getEmployeeName() != null ? result.getEmployeeName() : "N/A")
                 .jobTitle(result.getJobTitle())
                 .yearsExperience(result.getYearsExperience())
-                .performanceRating5(convertBucketToRating(result.getPerfBucket()))
+                .performanceRating5(convertBucketToRating(result.getPerfBucket(), userScale))
                 .currentSalary(result.getCurrentSalary())
                 .midOfScale(result.getMidOfScale())
                 .compaRatio(result.getCompaRatio())
@@ -0,0 +1,145 @@
+package talentcapitalme.com.comparatio.util;
+
+import org.dhatim.fastexcel.Workbook;
+import org.dhatim.fastexcel.Worksheet;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Streams the "Compensation Results" workbook straight to an output stream using the FastExcel writer.
+ *
+ * Rows are flushed every {@link #FLUSH_INTERVAL} rows, so memory use does not grow with the number of rows.
+ * Only two styles exist in the workbook (header and data) no matter how many rows are written, and column
+ * widths are fixed up front instead of being measured from the data.
+ *
+ * The header row is flushed as soon as the writer is created, so the response starts before the first data row.
+ *
+ * Usage: create, call {@link #writeRow} per result in order, then {@link #finish()}. Closing a writer that was
+ * not finished leaves the workbook without its closing entries, so a failed export is an unreadable file
+ * rather than a valid workbook missing rows.
+ */
+public class ExcelResultWriter implements Closeable {
+
+    private static final String SHEET_NAME = "Compensation Results";
+    private static final String[] HEADERS = {"Employee Code", "Employee Name", "Job Title", "Years of Experience",
+            "Performance Rating", "Current Salary", "Mid of Scale", "Compa Ratio",
+            "Increase %", "New Salary", "Increase Amount"};
+    // Widths in characters, sized for the header text and typical values
+    private static final double[] COLUMN_WIDTHS = {16, 28, 28, 21, 20, 16, 14, 13, 12, 14, 18};
+    private static final int LAST_COLUMN = HEADERS.length - 1;
+    private static final String HEADER_FILL = "3366FF"; // same as POI IndexedColors.LIGHT_BLUE
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final Workbook workbook;
+    private final Worksheet sheet;
+    private int nextRow = 1;
+    private boolean finished;
+    private boolean closed;
+
+    public ExcelResultWriter(OutputStream outputStream) throws IOException {
+        this.workbook = new Workbook(outputStream, "Comparatio", "1.0");
+        this.sheet = workbook.newWorksheet(SHEET_NAME);
+        for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+            sheet.width(i, COLUMN_WIDTHS[i]); // must be set before the first flush
+        }
+        writeHeaderRow();
+        sheet.flush();
+        outputStream.flush();
+    }
+
+    /**
+     * Write all results to the output stream as a complete workbook
+     */
+    public static void write(Iterable<BulkRowResult> results, OutputStream outputStream) throws IOException {
+        try (ExcelResultWriter writer = new ExcelResultWriter(outputStream)) {
+            for (BulkRowResult result : results) {
+                writer.writeRow(result);
+            }
+            writer.finish();
+        }
+    }
+
+    private void writeHeaderRow() {
+        for (int i = 0; i < HEADERS.length; i++) {
+            sheet.value(0, i, HEADERS[i]);
+        }
+        sheet.range(0, 0, 0, LAST_COLUMN).style()
+                .bold().fontSize(12).fillColor(HEADER_FILL)
+                .set();
+    }
+
+    /**
+     * Append one result row
+     */
+    public void writeRow(BulkRowResult result) throws IOException {
+        ensureOpen();
+        int row = nextRow++;
+        int col = 0;
+        sheet.value(row, col++, result.getEmployeeCode() != null ? result.getEmployeeCode() : "");
+        sheet.value(row, col++, result.getEmployeeName() != null ? result.getEmployeeName() : "");
+        sheet.value(row, col++, result.getJobTitle() != null ? result.getJobTitle() : "");
+        sheet.value(row, col++, result.getYearsExperience() != null ? result.getYearsExperience() : 0);
+        sheet.value(row, col++, result.getPerformanceRating5() != null ? result.getPerformanceRating5() : 0);
+        sheet.value(row, col++, toDouble(result.getCurrentSalary()));
+        sheet.value(row, col++, toDouble(result.getMidOfScale()));
+
+        // For error rows, show "ERROR" in calculation columns, otherwise show calculated values
+        if (result.getError() != null) {
+            while (col <= LAST_COLUMN) {
+                sheet.value(row, col++, "ERROR");
+            }
+        } else {
+            sheet.value(row, col++, toDouble(result.getCompaRatio()));
+            sheet.value(row, col++, toDouble(result.getIncreasePct()));
+            sheet.value(row, col++, toDouble(result.getNewSalary()));
+            sheet.value(row, col, toDouble(result.getIncreaseAmount()));
+        }
+        sheet.range(row, 0, row, LAST_COLUMN).style().wrapText(true).set();
+
+        if (row % FLUSH_INTERVAL == 0) {
+            sheet.flush();
+        }
+    }
+
+    /**
+     * Number of data rows written so far
+     */
+    public int getRowCount() {
+        return nextRow - 1;
+    }
+
+    /**
+     * Complete the workbook. The underlying output stream is left open.
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            finished = true;
+            sheet.finish();
+            workbook.finish();
+        }
+    }
+
+    /**
+     * Stop writing. Does not complete the workbook: only {@link #finish()} does, once every row was written.
+     * The underlying output stream is left open.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Excel result writer is closed");
+        }
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,30 @@
+package talentcapitalme.com.comparatio.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of one employee row read from an uploaded workbook.
+ * Produced by {@link ExcelRowReader} independently of the parser engine that read the sheet,
+ * so validation and calculation never touch POI or FastExcel types.
+ */
+public record ExcelRowData(
+        int rowIndex,
+        String employeeCode,
+        String employeeName,
+        String jobTitle,
+        Integer yearsExperience,
+        Integer performanceRating,
+        BigDecimal currentSalary,
+        BigDecimal midOfScale) {
+
+    /**
+     * A row is considered empty when Employee Code, Name and Job Title are all blank
+     */
+    public boolean isEmpty() {
+        return isBlank(employeeCode) && isBlank(employeeName) && isBlank(jobTitle);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
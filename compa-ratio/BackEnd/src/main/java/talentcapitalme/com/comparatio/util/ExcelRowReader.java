@@ -0,0 +1,326 @@
+package talentcapitalme.com.comparatio.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.dhatim.fastexcel.reader.ReadableWorkbook;
+import org.springframework.stereotype.Component;
+import talentcapitalme.com.comparatio.config.AppProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the employee sheet of a bulk upload and emits one {@link ExcelRowData} per data row.
+ *
+ * Two engines are available:
+ * - Apache POI (in-memory): supports .xls and .xlsx, but materializes the whole workbook
+ * - FastExcel reader (streaming): .xlsx only, reads the sheet XML row by row with flat memory use
+ *
+ * The engine is picked from the file name and size, see {@code app.fileUpload.streamingParseThreshold}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExcelRowReader {
+
+    private static final String[] EXPECTED_HEADERS = {"Employee Code", "Employee Name", "Job Title",
+            "Years of Experience", "Performance Rating", "Current Salary", "Mid of Scale"};
+
+    private final AppProperties appProperties;
+
+    /**
+     * Read all data rows of the first sheet, validating the header row first.
+     * Rows are passed to the consumer in sheet order; the header row is never emitted.
+     *
+     * @param inputStream workbook content
+     * @param filename original file name, used to detect the format
+     * @param size file size in bytes, used to select the parser engine
+     * @param consumer receives each data row
+     */
+    public void read(InputStream inputStream, String filename, long size, Consumer<ExcelRowData> consumer) throws IOException {
+        if (useStreamingParser(filename, size)) {
+            log.info("Parsing '{}' ({} bytes) with streaming FastExcel reader", filename, size);
+            readWithFastExcel(inputStream, consumer);
+        } else {
+            log.info("Parsing '{}' ({} bytes) with Apache POI", filename, size);
+            readWithPoi(inputStream, consumer);
+        }
+    }
+
+    /**
+     * Streaming is only possible for OOXML workbooks. A threshold of 0 streams every .xlsx file,
+     * a negative threshold disables streaming entirely.
+     */
+    boolean useStreamingParser(String filename, long size) {
+        long threshold = appProperties.getFileUpload().getStreamingParseThreshold();
+        if (threshold < 0 || filename == null || !filename.toLowerCase().endsWith(".xlsx")) {
+            return false;
+        }
+        return size >= threshold;
+    }
+
+    /**
+     * Read using Apache POI (whole workbook in memory)
+     */
+    private void readWithPoi(InputStream inputStream, Consumer<ExcelRowData> consumer) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Excel file must contain at least one sheet");
+            }
+
+            Row headerRow = sheet.getRow(0);
+            if (headerRow == null) {
+                throw new IllegalArgumentException("Excel file must have a header row");
+            }
+            List<String> headers = new ArrayList<>(EXPECTED_HEADERS.length);
+            for (int i = 0; i < EXPECTED_HEADERS.length; i++) {
+                headers.add(getCellValueAsString(headerRow.getCell(i)));
+            }
+            validateHeaderRow(headers);
+
+            int lastRowNum = sheet.getLastRowNum();
+            log.info("Processing Excel file with {} total rows (including header)", lastRowNum + 1);
+
+            for (int i = 1; i <= lastRowNum; i++) {
+                Row row = sheet.getRow(i);
+                if (row == null || row.getLastCellNum() == -1) {
+                    consumer.accept(new ExcelRowData(i, null, null, null, null, null, null, null));
+                    continue;
+                }
+                consumer.accept(new ExcelRowData(i,
+                        getCellValueAsString(row.getCell(0)),
+                        getCellValueAsString(row.getCell(1)),
+                        getCellValueAsString(row.getCell(2)),
+                        getCellValueAsInteger(row.getCell(3)),
+                        getCellValueAsInteger(row.getCell(4)),
+                        getCellValueAsBigDecimal(row.getCell(5)),
+                        getCellValueAsBigDecimal(row.getCell(6))));
+            }
+        }
+    }
+
+    /**
+     * Read using the FastExcel streaming reader (one row in memory at a time)
+     */
+    private void readWithFastExcel(InputStream inputStream, Consumer<ExcelRowData> consumer) throws IOException {
+        try (ReadableWorkbook workbook = new ReadableWorkbook(inputStream);
+             Stream<org.dhatim.fastexcel.reader.Row> rows = workbook.getFirstSheet().openStream()) {
+
+            Iterator<org.dhatim.fastexcel.reader.Row> iterator = rows.iterator();
+            org.dhatim.fastexcel.reader.Row headerRow = iterator.hasNext() ? iterator.next() : null;
+            // FastExcel row numbers are 1-based and absent rows are not emitted
+            if (headerRow == null || headerRow.getRowNum() != 1) {
+                throw new IllegalArgumentException("Excel file must have a header row");
+            }
+            List<String> headers = new ArrayList<>(EXPECTED_HEADERS.length);
+            for (int i = 0; i < EXPECTED_HEADERS.length; i++) {
+                headers.add(getCellValueAsString(headerRow, i));
+            }
+            validateHeaderRow(headers);
+
+            while (iterator.hasNext()) {
+                org.dhatim.fastexcel.reader.Row row = iterator.next();
+                consumer.accept(new ExcelRowData(row.getRowNum() - 1,
+                        getCellValueAsString(row, 0),
+                        getCellValueAsString(row, 1),
+                        getCellValueAsString(row, 2),
+                        getCellValueAsInteger(row, 3),
+                        getCellValueAsInteger(row, 4),
+                        getCellValueAsBigDecimal(row, 5),
+                        getCellValueAsBigDecimal(row, 6)));
+            }
+        }
+    }
+
+    /**
+     * Validate header row structure
+     */
+    private void validateHeaderRow(List<String> headers) {
+        for (int i = 0; i < EXPECTED_HEADERS.length; i++) {
+            String cellValue = headers.get(i);
+            if (cellValue == null || !isValidHeader(cellValue.trim(), EXPECTED_HEADERS[i])) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid header at column %d. Expected '%s', found '%s'",
+                                i + 1, EXPECTED_HEADERS[i], cellValue));
+            }
+        }
+    }
+
+    /**
+     * Check if header value matches expected header (case-insensitive and flexible)
+     */
+    private boolean isValidHeader(String actualHeader, String expectedHeader) {
+        if (actualHeader == null || expectedHeader == null) {
+            return false;
+        }
+
+        // Normalize both strings for comparison
+        String normalizedActual = actualHeader.toLowerCase().replaceAll("\\s+", " ").trim();
+        String normalizedExpected = expectedHeader.toLowerCase().replaceAll("\\s+", " ").trim();
+
+        // Direct match
+        if (normalizedActual.equals(normalizedExpected)) {
+            return true;
+        }
+
+        // Handle common variations
+        switch (normalizedExpected) {
+            case "years of experience":
+                return normalizedActual.equals("years of experience") ||
+                       normalizedActual.equals("years experience") ||
+                       normalizedActual.equals("experience years");
+            case "performance rating":
+                return normalizedActual.equals("performance rating") ||
+                       normalizedActual.equals("rating") ||
+                       normalizedActual.equals("perf rating") ||
+                       normalizedActual.contains("performance rating") ||
+                       normalizedActual.startsWith("performance rating");
+            case "current salary":
+                return normalizedActual.equals("current salary") ||
+                       normalizedActual.equals("salary") ||
+                       normalizedActual.equals("current pay");
+            case "mid of scale":
+                return normalizedActual.equals("mid of scale") ||
+                       normalizedActual.equals("mid scale") ||
+                       normalizedActual.equals("midpoint") ||
+                       normalizedActual.equals("mid point");
+            case "employee code":
+                return normalizedActual.equals("employee code") ||
+                       normalizedActual.equals("emp code") ||
+                       normalizedActual.equals("employee id");
+            case "employee name":
+                return normalizedActual.equals("employee name") ||
+                       normalizedActual.equals("name") ||
+                       normalizedActual.equals("emp name");
+            case "job title":
+                return normalizedActual.equals("job title") ||
+                       normalizedActual.equals("title") ||
+                       normalizedActual.equals("position");
+            default:
+                return false;
+        }
+    }
+
+    // Helper methods for POI cell value extraction
+    private String getCellValueAsString(Cell cell) {
+        if (cell == null) return null;
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return numericToString(cell.getNumericCellValue());
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                return cell.getCellFormula();
+            default:
+                return null;
+        }
+    }
+
+    private Integer getCellValueAsInteger(Cell cell) {
+        if (cell == null) return null;
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return (int) cell.getNumericCellValue();
+            case STRING:
+                return parseInteger(cell.getStringCellValue());
+            default:
+                return null;
+        }
+    }
+
+    private BigDecimal getCellValueAsBigDecimal(Cell cell) {
+        if (cell == null) return null;
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return BigDecimal.valueOf(cell.getNumericCellValue());
+            case STRING:
+                return parseBigDecimal(cell.getStringCellValue());
+            default:
+                return null;
+        }
+    }
+
+    // Helper methods for FastExcel cell value extraction.
+    // Numbers go through double so both engines produce identical values for the same sheet.
+    private String getCellValueAsString(org.dhatim.fastexcel.reader.Row row, int column) {
+        org.dhatim.fastexcel.reader.Cell cell = row.getOptionalCell(column).orElse(null);
+        if (cell == null) return null;
+        switch (cell.getType()) {
+            case STRING:
+                return cell.asString();
+            case NUMBER:
+                return numericToString(cell.asNumber().doubleValue());
+            case BOOLEAN:
+                return String.valueOf(cell.asBoolean());
+            case FORMULA:
+                return cell.getFormula();
+            default:
+                return null;
+        }
+    }
+
+    private Integer getCellValueAsInteger(org.dhatim.fastexcel.reader.Row row, int column) {
+        org.dhatim.fastexcel.reader.Cell cell = row.getOptionalCell(column).orElse(null);
+        if (cell == null) return null;
+        switch (cell.getType()) {
+            case NUMBER:
+                return (int) cell.asNumber().doubleValue();
+            case STRING:
+                return parseInteger(cell.asString());
+            default:
+                return null;
+        }
+    }
+
+    private BigDecimal getCellValueAsBigDecimal(org.dhatim.fastexcel.reader.Row row, int column) {
+        org.dhatim.fastexcel.reader.Cell cell = row.getOptionalCell(column).orElse(null);
+        if (cell == null) return null;
+        switch (cell.getType()) {
+            case NUMBER:
+                return BigDecimal.valueOf(cell.asNumber().doubleValue());
+            case STRING:
+                return parseBigDecimal(cell.asString());
+            default:
+                return null;
+        }
+    }
+
+    private String numericToString(double numericValue) {
+        // Check if it's a whole number (likely an ID/code)
+        if (numericValue == Math.floor(numericValue) && !Double.isInfinite(numericValue)) {
+            return String.valueOf((long) numericValue);
+        } else {
+            return String.valueOf(numericValue);
+        }
+    }
+
+    private Integer parseInteger(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private BigDecimal parseBigDecimal(String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package talentcapitalme.com.comparatio.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for the compensation calculation.
+ *
+ * Salaries are handled as {@code long} minor units (cents) and increase percentages as {@code long}
+ * basis points, so the per-row math is plain integer arithmetic with explicit HALF_UP rounding.
+ * Results are identical, value and scale, to the original BigDecimal calculation. Inputs that do not fit
+ * (more than 2 decimals, or large enough to overflow) fall back to that BigDecimal calculation.
+ */
+public final class FixedPointMoney {
+
+    /** Decimal places of a minor unit amount */
+    public static final int MONEY_SCALE = 2;
+
+    /** Decimal places of the compa ratio returned by individual calculations */
+    public static final int COMPA_RATIO_SCALE = 6;
+
+    /** Decimal places of the compa ratio used before rounding to a whole percent in bulk calculations */
+    public static final int COMPA_PERCENT_RATIO_SCALE = 4;
+
+    /** Returned by the conversions when a value cannot be represented exactly */
+    public static final long NOT_FIXED = Long.MIN_VALUE;
+
+    private static final long BASIS_POINTS = 10_000; // 100% in basis points
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixedPointMoney() {
+    }
+
+    /**
+     * Compa ratio as a whole percent, i.e. round(round(salary / mid, 4) * 100, 0)
+     */
+    public static BigDecimal compaPercent(BigDecimal salary, BigDecimal midOfScale) {
+        long salaryMinor = toMinorUnits(salary);
+        long midMinor = toMinorUnits(midOfScale);
+        if (salaryMinor != NOT_FIXED && midMinor != NOT_FIXED && midMinor != 0) {
+            try {
+                return BigDecimal.valueOf(compaPercent(salaryMinor, midMinor));
+            } catch (ArithmeticException e) {
+                // overflow, use the decimal calculation
+            }
+        }
+        return compaPercentDecimal(salary, midOfScale);
+    }
+
+    /**
+     * Compa ratio salary / mid rounded HALF_UP to {@link #COMPA_RATIO_SCALE} decimals
+     */
+    public static BigDecimal compaRatio(BigDecimal salary, BigDecimal midOfScale) {
+        long salaryMinor = toMinorUnits(salary);
+        long midMinor = toMinorUnits(midOfScale);
+        if (salaryMinor != NOT_FIXED && midMinor != NOT_FIXED && midMinor != 0) {
+            try {
+                return BigDecimal.valueOf(ratio(salaryMinor, midMinor, COMPA_RATIO_SCALE), COMPA_RATIO_SCALE);
+            } catch (ArithmeticException e) {
+                // overflow, use the decimal calculation
+            }
+        }
+        return compaRatioDecimal(salary, midOfScale);
+    }
+
+    /**
+     * Salary after applying a percentage increase, rounded HALF_UP to cents
+     *
+     * @param salary the current salary
+     * @param increasePct the increase in percent (e.g. 5.5 for 5.5%)
+     */
+    public static BigDecimal newSalary(BigDecimal salary, BigDecimal increasePct) {
+        long salaryMinor = toMinorUnits(salary);
+        long pctBasisPoints = toBasisPoints(increasePct);
+        if (salaryMinor != NOT_FIXED && pctBasisPoints != NOT_FIXED) {
+            try {
+                return BigDecimal.valueOf(newSalary(salaryMinor, pctBasisPoints), MONEY_SCALE);
+            } catch (ArithmeticException e) {
+                // overflow, use the decimal calculation
+            }
+        }
+        return newSalaryDecimal(salary, increasePct);
+    }
+
+    /**
+     * Whole-percent compa ratio of two amounts in the same minor unit
+     *
+     * @throws ArithmeticException if an intermediate value overflows
+     */
+    public static long compaPercent(long salaryMinor, long midMinor) {
+        return divideHalfUp(ratio(salaryMinor, midMinor, COMPA_PERCENT_RATIO_SCALE), 100);
+    }
+
+    /**
+     * Unscaled value of salary / mid rounded HALF_UP to the given number of decimals
+     *
+     * @throws ArithmeticException if an intermediate value overflows
+     */
+    public static long ratio(long salaryMinor, long midMinor, int scale) {
+        return divideHalfUp(Math.multiplyExact(salaryMinor, POWERS_OF_TEN[scale]), midMinor);
+    }
+
+    /**
+     * New salary in minor units after an increase given in basis points
+     *
+     * @throws ArithmeticException if an intermediate value overflows
+     */
+    public static long newSalary(long salaryMinor, long pctBasisPoints) {
+        long factor = Math.addExact(BASIS_POINTS, pctBasisPoints);
+        return divideHalfUp(Math.multiplyExact(salaryMinor, factor), BASIS_POINTS);
+    }
+
+    /**
+     * Integer division rounding HALF_UP, i.e. ties away from zero like {@link RoundingMode#HALF_UP}
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long absRemainder = Math.abs(remainder);
+        if (absRemainder >= Math.abs(divisor) - absRemainder) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Amount in minor units, or {@link #NOT_FIXED} if it has more than 2 decimals or does not fit
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return toFixed(amount, MONEY_SCALE);
+    }
+
+    /**
+     * Percentage in basis points, or {@link #NOT_FIXED} if it has more than 2 decimals or does not fit
+     */
+    public static long toBasisPoints(BigDecimal percent) {
+        return toFixed(percent, 2);
+    }
+
+    private static long toFixed(BigDecimal value, int scale) {
+        if (value == null || value.scale() > scale || value.precision() > 18) {
+            return NOT_FIXED;
+        }
+        int shift = scale - value.scale();
+        if (shift >= POWERS_OF_TEN.length) {
+            return NOT_FIXED;
+        }
+        try {
+            // precision <= 18 guarantees the unscaled value fits in a long; a result of exactly
+            // Long.MIN_VALUE is reported as NOT_FIXED and simply takes the decimal path
+            return Math.multiplyExact(value.unscaledValue().longValue(), POWERS_OF_TEN[shift]);
+        } catch (ArithmeticException e) {
+            return NOT_FIXED;
+        }
+    }
+
+    // BigDecimal calculations, used for inputs the fixed-point path cannot represent
+
+    static BigDecimal compaPercentDecimal(BigDecimal salary, BigDecimal midOfScale) {
+        return salary.divide(midOfScale, COMPA_PERCENT_RATIO_SCALE, RoundingMode.HALF_UP)
+                .multiply(HUNDRED)
+                .setScale(0, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal compaRatioDecimal(BigDecimal salary, BigDecimal midOfScale) {
+        return salary.divide(midOfScale, COMPA_RATIO_SCALE, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal newSalaryDecimal(BigDecimal salary, BigDecimal increasePct) {
+        return salary.multiply(BigDecimal.ONE.add(increasePct.movePointLeft(2)))
+                .setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+}
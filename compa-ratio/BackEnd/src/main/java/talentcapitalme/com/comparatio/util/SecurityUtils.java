@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import talentcapitalme.com.comparatio.security.Authz;
+import talentcapitalme.com.comparatio.security.PrincipalSnapshot;
 
 /**
  * Utility class for security-related operations
@@ -12,28 +13,27 @@ import talentcapitalme.com.comparatio.security.Authz;
 @Slf4j
 public class SecurityUtils {
 
+    /**
+     * Get current authenticated user snapshot safely, null for anonymous requests
+     */
+    public static PrincipalSnapshot getCurrentPrincipal() {
+        return Authz.currentOrNull();
+    }
+
     /**
      * Get current authenticated user ID safely
      */
     public static String getCurrentUserId() {
-        try {
-            return Authz.getCurrentUserId();
-        } catch (Exception e) {
-            log.warn("Failed to get current user ID: {}", e.getMessage());
-            return null;
-        }
+        PrincipalSnapshot principal = getCurrentPrincipal();
+        return principal != null ? principal.userId() : null;
     }
 
     /**
      * Get current authenticated user client ID safely
      */
     public static String getCurrentUserClientId() {
-        try {
-            return Authz.getCurrentUserClientId();
-        } catch (Exception e) {
-            log.warn("Failed to get current user client ID: {}", e.getMessage());
-            return null;
-        }
+        PrincipalSnapshot principal = getCurrentPrincipal();
+        return principal != null ? principal.clientId() : null;
     }
 
     /**
@@ -96,21 +96,21 @@ public class SecurityUtils {
      * Log security event
      */
     public static void logSecurityEvent(String event, String details) {
-        String userId = getCurrentUserId();
-        String clientId = getCurrentUserClientId();
+        PrincipalSnapshot principal = getCurrentPrincipal();
         
         log.info("Security Event - User: {}, Client: {}, Event: {}, Details: {}", 
-                userId, clientId, event, details);
+                principal != null ? principal.userId() : null, principal != null ? principal.clientId() : null,
+                event, details);
     }
 
     /**
      * Log unauthorized access attempt
      */
     public static void logUnauthorizedAccess(String resource, String action) {
-        String userId = getCurrentUserId();
-        String clientId = getCurrentUserClientId();
+        PrincipalSnapshot principal = getCurrentPrincipal();
         
         log.warn("Unauthorized Access Attempt - User: {}, Client: {}, Resource: {}, Action: {}", 
-                userId, clientId, resource, action);
+                principal != null ? principal.userId() : null, principal != null ? principal.clientId() : null,
+                resource, action);
     }
 }
@@ -0,0 +1,292 @@
+package talentcapitalme.com.comparatio.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import talentcapitalme.com.comparatio.config.MongoIndexRegistry;
+import talentcapitalme.com.comparatio.service.IndexManagerService;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan regression test: every repository query method must be served by an index.
+ *
+ * Each method is invoked against an in-process MongoDB stand-in (mongo-java-server) with the indexes created by
+ * {@link IndexManagerService}, and every command it sends is checked. The stand-in has no explain command, so
+ * there the winning plan is derived from the collection's indexes with MongoDB's eligibility rule: an index can
+ * only be used when its leading field is constrained by the filter or leads the sort. Set
+ * {@code -DqueryPlan.mongoUri=mongodb://...} to run against a real server and use its explain output instead;
+ * explain support is probed once, so unsupported commands are not sent for every query.
+ */
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(ActiveBatchRepository.class,
+            AdjustmentMatrixRepository.class, CalculationResultRepository.class, ClientStatsRepository.class,
+            EmployeeRepository.class, JobGradeRepository.class, UploadHistoryRepository.class, UserRepository.class);
+
+    // active_batches holds one pointer per client and is read in full by design
+    private static final Set<String> FULL_SCANS_ALLOWED = Set.of(
+            "ActiveBatchRepository.findWithBatchesRetiredBefore",
+            "ActiveBatchRepository.sumResultCounts");
+
+    private static final Set<String> PLANNED_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "delete",
+            "update", "findAndModify");
+    private static final Set<String> INDEXABLE_OPERATORS = Set.of("$eq", "$in", "$gt", "$gte", "$lt", "$lte",
+            "$regex", "$all", "$elemMatch");
+    private static final String DATABASE = "query_plan_test";
+
+    private static final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static boolean explainSupported;
+
+    @BeforeAll
+    static void start() {
+        String uri = System.getProperty("queryPlan.mongoUri");
+        if (uri == null) {
+            server = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = server.bind();
+            uri = "mongodb://" + address.getHostString() + ":" + address.getPort();
+        }
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if (PLANNED_COMMANDS.contains(event.getCommandName())) {
+                            commands.add(event.getCommand().clone());
+                        }
+                    }
+                })
+                .build());
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(REPOSITORIES.stream()
+                .map(repository -> AbstractRepositoryMetadata.getMetadata(repository).getDomainType())
+                .collect(Collectors.toSet()));
+        mappingContext.initialize();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, DATABASE), converter);
+        mongoTemplate.getDb().drop();
+        assertEquals(0, new IndexManagerService(mongoTemplate).ensureIndexes(), "indexes that could not be created");
+        // The stand-in is known to have no explain command; asking it anyway logs the failure server side
+        explainSupported = server == null && explainSupported();
+    }
+
+    private static boolean explainSupported() {
+        try {
+            mongoTemplate.getDb().runCommand(new Document("explain", new Document("find", "users"))
+                    .append("verbosity", "queryPlanner"));
+            return true;
+        } catch (MongoCommandException e) {
+            return false;
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        if (mongoTemplate != null) {
+            mongoTemplate.getDb().drop();
+        }
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    void registeredIndexesAreCreated() {
+        for (MongoIndexRegistry.Entry entry : MongoIndexRegistry.entries()) {
+            String name = entry.index().getIndexOptions().getString("name");
+            Set<String> existing = new HashSet<>();
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(entry.entityClass()))
+                    .listIndexes().forEach(index -> existing.add(index.getString("name")));
+            assertTrue(existing.contains(name), () -> "missing index " + name + " on " + entry.entityClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void noRepositoryMethodScansACollection() throws Exception {
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        List<String> violations = new ArrayList<>();
+        for (Class<?> repositoryInterface : REPOSITORIES) {
+            Object repository = factory.getRepository(repositoryInterface);
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                commands.clear();
+                invoke(repository, method);
+                assertTrue(!commands.isEmpty(), () -> name + " sent no query");
+                if (FULL_SCANS_ALLOWED.contains(name)) {
+                    continue;
+                }
+                for (BsonDocument command : commands) {
+                    if (!usesIndex(command)) {
+                        violations.add(name + " -> COLLSCAN: " + withoutSessionFields(command).toJson());
+                    }
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), () -> "Collection scans:\n" + String.join("\n", violations));
+    }
+
+    private static void invoke(Object repository, Method method) throws Exception {
+        Object[] args = new Object[method.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = sampleArgument(method.getParameterTypes()[i]);
+        }
+        try {
+            method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw new AssertionError("Error invoking " + method, e.getCause());
+        }
+    }
+
+    private static Object sampleArgument(Class<?> type) {
+        if (type == String.class) {
+            return "c1";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == Decimal128.class) {
+            return new Decimal128(BigDecimal.ONE);
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of("c1");
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("No sample argument for " + type);
+    }
+
+    /**
+     * Whether the winning plan of the command uses an index, from the server's explain output when supported
+     */
+    private static boolean usesIndex(BsonDocument command) {
+        BsonDocument explainable = withoutSessionFields(command);
+        if (!explainSupported) {
+            return eligibleIndexExists(explainable);
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", explainable).append("verbosity", "queryPlanner"));
+        return !explain.toJson().contains("\"COLLSCAN\"");
+    }
+
+    private static boolean eligibleIndexExists(BsonDocument command) {
+        String commandName = command.getFirstKey();
+        BsonDocument filter = new BsonDocument();
+        BsonDocument sort = command.getDocument("sort", new BsonDocument());
+        switch (commandName) {
+            case "find" -> filter = command.getDocument("filter", filter);
+            case "count", "distinct", "findAndModify" -> filter = command.getDocument("query", filter);
+            case "delete" -> filter = command.getArray("deletes").get(0).asDocument().getDocument("q");
+            case "update" -> filter = command.getArray("updates").get(0).asDocument().getDocument("q");
+            case "aggregate" -> {
+                BsonArray pipeline = command.getArray("pipeline");
+                BsonDocument first = pipeline.isEmpty() ? new BsonDocument() : pipeline.get(0).asDocument();
+                filter = first.getDocument("$match", filter);
+                if (pipeline.size() > 1 && first.containsKey("$match")) {
+                    sort = pipeline.get(1).asDocument().getDocument("$sort", sort);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unexpected command " + commandName);
+        }
+        String collection = command.getString(commandName).getValue();
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            String leading = index.get("key", Document.class).keySet().iterator().next();
+            if (constrains(filter, leading) || (!sort.isEmpty() && sort.getFirstKey().equals(leading))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean constrains(BsonDocument filter, String field) {
+        for (String key : filter.keySet()) {
+            BsonValue value = filter.get(key);
+            if (key.equals("$and")) {
+                if (value.asArray().stream().anyMatch(clause -> constrains(clause.asDocument(), field))) {
+                    return true;
+                }
+            } else if (key.equals(field) && indexable(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean indexable(BsonValue value) {
+        if (!value.isDocument() || value.asDocument().isEmpty() || !value.asDocument().getFirstKey().startsWith("$")) {
+            return true; // equality
+        }
+        BsonDocument operators = value.asDocument();
+        return operators.keySet().stream().anyMatch(INDEXABLE_OPERATORS::contains)
+                || (operators.containsKey("$exists") && operators.get("$exists").asBoolean().getValue());
+    }
+
+    private static BsonDocument withoutSessionFields(BsonDocument command) {
+        BsonDocument copy = command.clone();
+        copy.keySet().removeIf(key -> key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber"));
+        return copy;
+    }
+}
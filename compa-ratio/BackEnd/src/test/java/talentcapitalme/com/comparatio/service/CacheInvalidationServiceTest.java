@@ -0,0 +1,245 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.config.AppProperties.CacheInvalidation.Mode;
+import talentcapitalme.com.comparatio.config.CacheConfig;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.entity.User;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cross-node cache invalidation against an in-process MongoDB stand-in (mongo-java-server).
+ *
+ * With its oplog enabled the stand-in serves change streams like a replica set; without it, it behaves like a
+ * standalone server and the nodes fall back to polling cache versions. Each "node" has its own cache manager
+ * and {@link CacheInvalidationService}; a write made through one node must evict the snapshot held by the other.
+ * Nodes pick their mode in the background, so tests wait for it before caching anything.
+ */
+class CacheInvalidationServiceTest {
+
+    private static final String DATABASE = "cache_invalidation_test";
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private MongoServer server;
+    private MongoClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable resource : resources.reversed()) {
+            resource.close();
+        }
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    void matrixChangeOnReplicaSetEvictsClientOnEveryNode() {
+        MongoTemplate mongoTemplate = start(true);
+        Node first = node(mongoTemplate, Mode.AUTO);
+        Node second = node(mongoTemplate, Mode.AUTO);
+        awaitMode(first, Mode.CHANGE_STREAM);
+        awaitMode(second, Mode.CHANGE_STREAM);
+
+        for (Node node : List.of(first, second)) {
+            node.cache("matrices").put("c1", List.of());
+            node.cache("matrices").put("c2", List.of());
+        }
+        mongoTemplate.save(matrix("c1"));
+
+        for (Node node : List.of(first, second)) {
+            awaitTrue(() -> node.cache("matrices").get("c1") == null, "matrices of c1 evicted");
+            assertNotNull(node.cache("matrices").get("c2"), "matrices of another client kept");
+        }
+    }
+
+    @Test
+    void userChangeOnReplicaSetEvictsUserOnEveryNode() {
+        MongoTemplate mongoTemplate = start(true);
+        Node first = node(mongoTemplate, Mode.CHANGE_STREAM);
+        Node second = node(mongoTemplate, Mode.CHANGE_STREAM);
+        awaitMode(first, Mode.CHANGE_STREAM);
+        awaitMode(second, Mode.CHANGE_STREAM);
+
+        for (Node node : List.of(first, second)) {
+            node.cache("users").put("u1", "profile");
+        }
+        mongoTemplate.save(user("u1"));
+
+        for (Node node : List.of(first, second)) {
+            awaitTrue(() -> node.cache("users").get("u1") == null, "user u1 evicted");
+        }
+    }
+
+    @Test
+    void standaloneServerFallsBackToPollingCacheVersions() {
+        MongoTemplate mongoTemplate = start(false);
+        Node writer = node(mongoTemplate, Mode.AUTO);
+        Node reader = node(mongoTemplate, Mode.AUTO);
+        awaitMode(writer, Mode.POLL);
+        awaitMode(reader, Mode.POLL);
+        MongoTemplate writerTemplate = writerTemplate(writer);
+
+        reader.cache("matrices").put("c1", List.of());
+        reader.cache("users").put("u1", "profile");
+        reader.cache("users").put("u2", "profile");
+        writerTemplate.save(matrix("c1"));
+        writerTemplate.remove(user("u1"));
+
+        awaitTrue(() -> reader.cache("matrices").get("c1") == null, "matrices of c1 evicted by polling");
+        awaitTrue(() -> reader.cache("users").get("u1") == null, "user u1 evicted by polling");
+        assertNotNull(reader.cache("users").get("u2"), "other users kept");
+    }
+
+    @Test
+    void pollingNodeSeesWritesThroughAChangeStreamNode() {
+        MongoTemplate mongoTemplate = start(true);
+        Node writer = node(mongoTemplate, Mode.AUTO);
+        Node reader = node(mongoTemplate, Mode.POLL);
+        awaitMode(writer, Mode.CHANGE_STREAM);
+        awaitMode(reader, Mode.POLL);
+        MongoTemplate writerTemplate = writerTemplate(writer);
+
+        reader.cache("matrices").put("c1", List.of());
+        writerTemplate.save(matrix("c1"));
+
+        awaitTrue(() -> reader.cache("matrices").get("c1") == null, "matrices of c1 evicted by polling");
+    }
+
+    @Test
+    void unreachableServerDoesNotBlockStartupNorSwitchToPolling() throws InterruptedException {
+        client = MongoClients.create("mongodb://127.0.0.1:1/?serverSelectionTimeoutMS=200");
+        MongoTemplate mongoTemplate = new MongoTemplate(client, DATABASE);
+
+        long started = System.nanoTime();
+        Node node = node(mongoTemplate, Mode.AUTO);
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 200, "start() returned immediately");
+
+        // Several failed attempts later the node is still waiting for change streams
+        Thread.sleep(1000);
+        assertEquals(Mode.OFF, node.service.getActiveMode());
+    }
+
+    @Test
+    void valueLoadedBeforeAnInvalidationIsNotCached() {
+        Cache cache = node(null, Mode.OFF).cache("matrices");
+
+        assertNull(cache.get("c1"));
+        // Another node changes the matrices while this one is still loading the old ones
+        cache.evict("c1");
+        cache.put("c1", List.of("stale"));
+
+        assertNull(cache.get("c1"), "stale snapshot must not be served");
+        cache.put("c1", List.of("fresh"));
+        assertEquals(List.of("fresh"), cache.get("c1").get());
+    }
+
+    private MongoTemplate start(boolean replicaSet) {
+        MemoryBackend backend = new MemoryBackend();
+        if (replicaSet) {
+            backend.enableOplog();
+        }
+        server = new MongoServer(backend);
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, DATABASE);
+        // Change streams can only be opened on existing collections
+        mongoTemplate.createCollection(CacheInvalidationService.MATRIX_COLLECTION);
+        mongoTemplate.createCollection(CacheInvalidationService.USER_COLLECTION);
+        return mongoTemplate;
+    }
+
+    /**
+     * Template whose writes publish cache versions through the node, like the repositories do in the application
+     */
+    private MongoTemplate writerTemplate(Node writer) {
+        MongoTemplate writerTemplate = new MongoTemplate(client, DATABASE);
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.addApplicationListener(new CacheInvalidationListener(writer.service));
+        context.refresh();
+        resources.add(context);
+        writerTemplate.setApplicationContext(context);
+        return writerTemplate;
+    }
+
+    private Node node(MongoTemplate mongoTemplate, Mode mode) {
+        AppProperties properties = new AppProperties();
+        properties.getCacheInvalidation().setMode(mode);
+        properties.getCacheInvalidation().setPollIntervalMs(100);
+        properties.getCacheInvalidation().setStreamRetryMs(100);
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(properties);
+        cacheManager.afterPropertiesSet();
+        CacheInvalidationService service = new CacheInvalidationService(mongoTemplate, cacheManager,
+                new UserStatusService(null, properties), properties);
+        if (mode != Mode.OFF) {
+            service.start();
+            resources.add(service::stop);
+        }
+        return new Node(cacheManager, service);
+    }
+
+    private static AdjustmentMatrix matrix(String clientId) {
+        return AdjustmentMatrix.builder()
+                .id(clientId + "_m_3_0.00_0.70")
+                .clientId(clientId)
+                .perfBucket(3)
+                .active(true)
+                .build();
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setActive(true);
+        return user;
+    }
+
+    private static void awaitMode(Node node, Mode mode) {
+        awaitTrue(() -> node.service.getActiveMode() == mode, mode + " mode");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, () -> "timed out waiting for " + message);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record Node(SimpleCacheManager cacheManager, CacheInvalidationService service) {
+
+        Cache cache(String name) {
+            return cacheManager.getCache(name);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package talentcapitalme.com.comparatio.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+import talentcapitalme.com.comparatio.dto.CompaHeatmap;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.HeatmapCell;
+import talentcapitalme.com.comparatio.enumeration.Currency;
+import talentcapitalme.com.comparatio.enumeration.PerformanceRatingScale;
+import talentcapitalme.com.comparatio.util.ExcelRowReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compa labels of evaluated bulk rows: {@link talentcapitalme.com.comparatio.util.FixedPointMoney#compaPercent}
+ * yields whole percent, so the label bounds are whole percent too.
+ */
+class ExcelProcessingServiceTest {
+
+    private static final String CLIENT_ID = "c1";
+
+    private final ExecutorService bulkRowExecutor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        bulkRowExecutor.shutdownNow();
+    }
+
+    @Test
+    void labelBoundsAreWholePercent() {
+        assertEquals("< 71%", label(0));
+        assertEquals("< 71%", label(70));
+        assertEquals("71% - 85%", label(71));
+        assertEquals("71% - 85%", label(84));
+        assertEquals("85% - 100%", label(85));
+        assertEquals("85% - 100%", label(99));
+        assertEquals("100% - 115%", label(100));
+        assertEquals("100% - 115%", label(114));
+        assertEquals("> 115%", label(115));
+        assertEquals("> 115%", label(250));
+    }
+
+    @Test
+    void rowsAcrossTheRangesLandInDistinctHeatmapCells() throws IOException {
+        AppProperties properties = new AppProperties();
+        ExcelProcessingService service = new ExcelProcessingService(null, null, new PerformanceRatingService(),
+                new ExcelRowReader(properties), null, bulkRowExecutor, properties, null, null, null);
+        byte[] workbook = workbook(7000, 9000, 10500, 12000);
+
+        List<BulkRowResult> rows = service.evaluateWorkbook(new ByteArrayInputStream(workbook), "employees.xlsx",
+                workbook.length, context());
+
+        assertEquals(List.of("< 71%", "85% - 100%", "100% - 115%", "> 115%"),
+                rows.stream().map(BulkRowResult::getCompaLabel).toList());
+
+        List<HeatmapCell> heatmap = ResultStatistics.of(rows.stream()
+                .map(row -> CalculationResult.builder()
+                        .perfBucket(3)
+                        .currentSalary(row.getCurrentSalary())
+                        .newSalary(row.getNewSalary())
+                        .increasePct(row.getIncreasePct())
+                        .compaRatio(row.getCompaRatio())
+                        .compaLabel(row.getCompaLabel())
+                        .build())
+                .toList()).getHeatmap();
+        ClientStatsService clientStats = new ClientStatsService(null, null, null) {
+            @Override
+            public List<HeatmapCell> getHeatmap(String clientId, String batchId) {
+                return heatmap;
+            }
+        };
+        CompaHeatmap compaHeatmap = new DashboardService(null, null, null, clientStats, null, null, null)
+                .getCompaHeatmap(CLIENT_ID, "b1");
+
+        List<CompaHeatmap.Cell> occupied = compaHeatmap.getCells().stream()
+                .filter(cell -> cell.getHeadcount() > 0)
+                .toList();
+        assertEquals(4, occupied.size());
+        assertEquals(List.of("< 71%", "85% - 100%", "100% - 115%", "> 115%"),
+                occupied.stream().map(CompaHeatmap.Cell::getCompaLabel).toList());
+        assertEquals(ExcelProcessingService.COMPA_LABELS, compaHeatmap.getCompaLabels());
+    }
+
+    private static String label(int compaPercent) {
+        return ExcelProcessingService.compaLabel(BigDecimal.valueOf(compaPercent));
+    }
+
+    private static BatchContext context() {
+        AdjustmentMatrix cell = AdjustmentMatrix.builder()
+                .clientId(CLIENT_ID)
+                .perfBucket(3)
+                .compaFrom(new BigDecimal("0.00"))
+                .compaTo(new BigDecimal("9.99"))
+                .pctLt5Years(new BigDecimal("5"))
+                .pctGte5Years(new BigDecimal("5"))
+                .active(true)
+                .build();
+        return new BatchContext(CLIENT_ID, "Client", CLIENT_ID, "client@example.com",
+                PerformanceRatingScale.FIVE_POINT, Currency.USD, MatrixIndex.build(CLIENT_ID, List.of(cell)));
+    }
+
+    /**
+     * Upload workbook with one rating 3 employee per salary, all on a mid of scale of 10,000
+     */
+    private static byte[] workbook(int... salaries) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Employees");
+            String[] headers = {"Employee Code", "Employee Name", "Job Title", "Years of Experience",
+                    "Performance Rating", "Current Salary", "Mid of Scale"};
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < headers.length; c++) {
+                header.createCell(c).setCellValue(headers[c]);
+            }
+            for (int i = 0; i < salaries.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("EMP00" + (i + 1));
+                row.createCell(1).setCellValue("Employee " + (i + 1));
+                row.createCell(2).setCellValue("Engineer");
+                row.createCell(3).setCellValue(3);
+                row.createCell(4).setCellValue(3);
+                row.createCell(5).setCellValue(salaries[i]);
+                row.createCell(6).setCellValue(10000);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package talentcapitalme.com.comparatio.service;
+
+import org.junit.jupiter.api.Test;
+import talentcapitalme.com.comparatio.entity.AdjustmentMatrix;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Boundary semantics of the in-memory matrix lookup. The index replaces
+ * {@code AdjustmentMatrixRepository.findClientActiveCell}, i.e. {@code compaFrom <= compa <= compaTo}, with the
+ * first cell of the source list winning when several cells cover the ratio.
+ */
+class MatrixIndexTest {
+
+    // Bucket 3 of the default matrix seeded for new clients
+    private static final List<AdjustmentMatrix> DEFAULT_CELLS = List.of(
+            cell("0.00", "0.70"),
+            cell("0.71", "0.85"),
+            cell("0.86", "1.01"),
+            cell("1.01", "1.15"),
+            cell("1.16", "1.30"),
+            cell("1.30", "9.99"));
+
+    private final MatrixIndex index = MatrixIndex.build("c1", DEFAULT_CELLS);
+
+    @Test
+    void lowerBoundIsInclusive() {
+        assertSame(DEFAULT_CELLS.get(0), find("0.00"));
+        assertSame(DEFAULT_CELLS.get(1), find("0.71"));
+        assertSame(DEFAULT_CELLS.get(2), find("0.86"));
+        assertSame(DEFAULT_CELLS.get(4), find("1.16"));
+    }
+
+    @Test
+    void upperBoundIsInclusiveLikeTheRepositoryQuery() {
+        // The default cells leave 0.01 between ranges, so 0.70 and 0.85 are only covered through compaTo
+        assertSame(DEFAULT_CELLS.get(0), find("0.70"));
+        assertSame(DEFAULT_CELLS.get(1), find("0.85"));
+        assertSame(DEFAULT_CELLS.get(3), find("1.15"));
+        assertSame(DEFAULT_CELLS.get(5), find("9.99"));
+        assertNull(find("10.00"));
+    }
+
+    @Test
+    void valuesInsideRanges() {
+        assertSame(DEFAULT_CELLS.get(2), find("1.00"));
+        assertSame(DEFAULT_CELLS.get(2), find("1.0000"));
+        assertSame(DEFAULT_CELLS.get(3), find("1.1000"));
+    }
+
+    @Test
+    void gapsBetweenCellsMatchNothing() {
+        assertNull(find("0.7050"));
+        assertNull(find("0.8550"));
+        assertNull(find("1.1550"));
+    }
+
+    @Test
+    void sharedBoundaryGoesToTheFirstSourceCell() {
+        // 1.01 closes the third default cell and opens the fourth; 1.30 closes the fifth and opens the sixth
+        assertSame(DEFAULT_CELLS.get(2), find("1.01"));
+        assertSame(DEFAULT_CELLS.get(4), find("1.30"));
+
+        List<AdjustmentMatrix> reversed = new ArrayList<>(DEFAULT_CELLS).reversed();
+        MatrixIndex reversedIndex = MatrixIndex.build("c1", reversed);
+        assertSame(DEFAULT_CELLS.get(3), reversedIndex.findCell(3, new BigDecimal("1.01")));
+        assertSame(DEFAULT_CELLS.get(5), reversedIndex.findCell(3, new BigDecimal("1.30")));
+    }
+
+    @Test
+    void overlappingCellsResolveBySourceOrderNotByRange() {
+        AdjustmentMatrix wide = cell("0.50", "1.50");
+        AdjustmentMatrix narrow = cell("0.90", "1.10");
+        MatrixIndex wideFirst = MatrixIndex.build("c1", List.of(wide, narrow));
+        MatrixIndex narrowFirst = MatrixIndex.build("c1", List.of(narrow, wide));
+
+        assertSame(wide, wideFirst.findCell(3, new BigDecimal("1.00")));
+        assertSame(narrow, narrowFirst.findCell(3, new BigDecimal("1.00")));
+        assertSame(wide, narrowFirst.findCell(3, new BigDecimal("1.20")));
+    }
+
+    @Test
+    void bucketsAndUnusableCellsAreIsolated() {
+        AdjustmentMatrix other = AdjustmentMatrix.builder().perfBucket(1)
+                .compaFrom(new BigDecimal("0.00")).compaTo(new BigDecimal("9.99")).build();
+        AdjustmentMatrix noRange = AdjustmentMatrix.builder().perfBucket(2).compaFrom(new BigDecimal("0.00")).build();
+        MatrixIndex mixed = MatrixIndex.build("c1", List.of(other, noRange));
+
+        assertSame(other, mixed.findCell(1, new BigDecimal("1.00")));
+        assertNull(mixed.findCell(2, new BigDecimal("1.00")));
+        assertNull(mixed.findCell(3, new BigDecimal("1.00")));
+        assertNull(mixed.findCell(-1, new BigDecimal("1.00")));
+        assertEquals(1, mixed.getCellCount());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomOverlappingCells() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<AdjustmentMatrix> cells = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(12); i++) {
+                int from = random.nextInt(150);
+                cells.add(cell(BigDecimal.valueOf(from, 2), BigDecimal.valueOf(from + random.nextInt(40), 2)));
+            }
+            MatrixIndex randomIndex = MatrixIndex.build("c1", cells);
+            for (int value = 0; value <= 200; value++) {
+                BigDecimal compa = BigDecimal.valueOf(value, 2);
+                assertSame(linearScan(cells, compa), randomIndex.findCell(3, compa), () -> "compa " + compa);
+            }
+        }
+    }
+
+    private AdjustmentMatrix find(String compa) {
+        return index.findCell(3, new BigDecimal(compa));
+    }
+
+    private static AdjustmentMatrix linearScan(List<AdjustmentMatrix> cells, BigDecimal compa) {
+        for (AdjustmentMatrix cell : cells) {
+            if (cell.getCompaFrom().compareTo(compa) <= 0 && cell.getCompaTo().compareTo(compa) >= 0) {
+                return cell;
+            }
+        }
+        return null;
+    }
+
+    private static AdjustmentMatrix cell(String from, String to) {
+        return cell(new BigDecimal(from), new BigDecimal(to));
+    }
+
+    private static AdjustmentMatrix cell(BigDecimal from, BigDecimal to) {
+        return AdjustmentMatrix.builder()
+                .perfBucket(3)
+                .compaFrom(from)
+                .compaTo(to)
+                .active(true)
+                .build();
+    }
+}
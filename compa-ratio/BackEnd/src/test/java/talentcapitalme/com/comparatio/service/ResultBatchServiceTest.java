@@ -0,0 +1,159 @@
+package talentcapitalme.com.comparatio.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import talentcapitalme.com.comparatio.config.AppProperties;
+import talentcapitalme.com.comparatio.config.CacheConfig;
+import talentcapitalme.com.comparatio.entity.ActiveBatch;
+import talentcapitalme.com.comparatio.entity.CalculationResult;
+import talentcapitalme.com.comparatio.entity.ClientStats;
+import talentcapitalme.com.comparatio.entity.RetiredBatch;
+import talentcapitalme.com.comparatio.repository.ActiveBatchRepository;
+import talentcapitalme.com.comparatio.repository.CalculationResultRepository;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Batch reads and reclaiming against an in-process MongoDB stand-in (mongo-java-server): retired batches stay
+ * readable for the grace period, recorded counts are cached until their batch is reclaimed, and keyset pages
+ * visit every row once.
+ */
+class ResultBatchServiceTest {
+
+    private static final String DATABASE = "result_batch_test";
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private AppProperties properties;
+    private ResultBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        properties = new AppProperties();
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(properties);
+        cacheManager.afterPropertiesSet();
+        service = new ResultBatchService(mongoTemplate, factory.getRepository(ActiveBatchRepository.class),
+                factory.getRepository(CalculationResultRepository.class), properties, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void retiredBatchIsKeptForTheGracePeriod() {
+        saveResults("c1", "b1", 3);
+        saveResults("c1", "b2", 2);
+        // Pointer as left by publishing b1 and then b2
+        mongoTemplate.insert(ActiveBatch.builder()
+                .clientId("c1")
+                .batchId("b2")
+                .resultCount(2)
+                .retiredBatches(new ArrayList<>(List.of(new RetiredBatch("b1", Instant.now()))))
+                .build());
+
+        service.reclaimRetiredBatches();
+        assertEquals(3, countResults("c1", "b1"), "retired batch still readable within the grace period");
+
+        properties.getBulk().setReclaimGraceMs(0);
+        service.reclaimRetiredBatches();
+        assertEquals(0, countResults("c1", "b1"));
+        assertEquals(2, countResults("c1", "b2"));
+        assertEquals(List.of(), mongoTemplate.findById("c1", ActiveBatch.class).getRetiredBatches());
+    }
+
+    @Test
+    void recordedCountIsCachedUntilTheBatchIsReclaimed() {
+        saveResults("c1", "b1", 3);
+        mongoTemplate.insert(ClientStats.builder().id(ClientStats.idOf("c1", "b1")).clientId("c1").batchId("b1")
+                .count(3).build());
+        assertEquals(3, service.countBatchResults("c1", "b1"));
+
+        // Served from the batchCounts cache, not the rollup
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(ClientStats.idOf("c1", "b1"))),
+                new Update().set("count", 99), ClientStats.class);
+        assertEquals(3, service.countBatchResults("c1", "b1"));
+
+        mongoTemplate.insert(ActiveBatch.builder()
+                .clientId("c1")
+                .batchId("b2")
+                .retiredBatches(new ArrayList<>(List.of(new RetiredBatch("b1", Instant.now()))))
+                .build());
+        properties.getBulk().setReclaimGraceMs(0);
+        service.reclaimRetiredBatches();
+        assertEquals(0, service.countBatchResults("c1", "b1"));
+    }
+
+    @Test
+    void keysetPagesVisitNullAndEmptyCodesOnce() {
+        List<String> codes = new ArrayList<>(Arrays.asList(null, "", "", null, "A", "B", ""));
+        for (String code : codes) {
+            CalculationResult result = new CalculationResult();
+            result.setClientId("c1");
+            result.setBatchId("b1");
+            result.setEmployeeCode(code);
+            mongoTemplate.insert(result);
+        }
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<String> visited = new ArrayList<>();
+            ResultCursor cursor = null;
+            for (int page = 0; page <= codes.size(); page++) {
+                List<CalculationResult> rows = service.findBatchResultsAfter("c1", "b1", "employeeCode", direction,
+                        cursor, 2);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                rows.forEach(row -> visited.add(row.getId()));
+                // Clients only hold the encoded cursor
+                cursor = ResultCursor.decode(ResultCursor.after(rows.get(rows.size() - 1), "employeeCode", direction)
+                        .encode());
+            }
+            assertEquals(codes.size(), visited.size(), direction + " pages");
+            assertEquals(codes.size(), new HashSet<>(visited).size(), direction + " rows served once");
+        }
+    }
+
+    private void saveResults(String clientId, String batchId, int count) {
+        for (int i = 0; i < count; i++) {
+            CalculationResult result = new CalculationResult();
+            result.setClientId(clientId);
+            result.setBatchId(batchId);
+            result.setEmployeeCode("EMP" + i);
+            mongoTemplate.insert(result);
+        }
+    }
+
+    private long countResults(String clientId, String batchId) {
+        return mongoTemplate.getCollection("calculation_results")
+                .countDocuments(new Document("clientId", clientId).append("batchId", batchId));
+    }
+}
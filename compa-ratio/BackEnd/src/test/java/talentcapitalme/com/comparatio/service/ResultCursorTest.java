@@ -0,0 +1,58 @@
+package talentcapitalme.com.comparatio.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import talentcapitalme.com.comparatio.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A cursor must decode to exactly the position it was encoded from, including null and empty sort keys.
+ */
+class ResultCursorTest {
+
+    private static final String ID = "65f0c0ffee0000000000abcd";
+
+    @Test
+    void nullAndEmptyValuesRoundTripDistinctly() {
+        ResultCursor nullKey = new ResultCursor("employeeCode", Sort.Direction.ASC, null, ID);
+        ResultCursor emptyKey = new ResultCursor("employeeCode", Sort.Direction.ASC, "", ID);
+
+        assertNotEquals(nullKey.encode(), emptyKey.encode());
+        assertEquals(nullKey, ResultCursor.decode(nullKey.encode()));
+        assertEquals(emptyKey, ResultCursor.decode(emptyKey.encode()));
+    }
+
+    @Test
+    void valuesRoundTrip() {
+        for (ResultCursor cursor : new ResultCursor[]{
+                new ResultCursor("employeeCode", Sort.Direction.DESC, "EMP001", ID),
+                new ResultCursor("employeeCode", Sort.Direction.ASC, "line\nbreak", ID),
+                new ResultCursor("employeeCode", Sort.Direction.ASC, "-", ID),
+                new ResultCursor("employeeCode", Sort.Direction.ASC, "+", ID),
+                new ResultCursor("createdAt", Sort.Direction.ASC, Instant.parse("2026-01-02T03:04:05.678Z"), ID),
+                new ResultCursor("createdAt", Sort.Direction.DESC, null, ID)}) {
+            assertEquals(cursor, ResultCursor.decode(cursor.encode()));
+        }
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(ValidationException.class, () -> ResultCursor.decode("not base64!"));
+        assertThrows(ValidationException.class, () -> ResultCursor.decode(raw("employeeCode\nASC\n" + ID)));
+        assertThrows(ValidationException.class, () -> ResultCursor.decode(raw("employeeCode\nASC\n" + ID + "\nEMP001")));
+        assertThrows(ValidationException.class, () -> ResultCursor.decode(raw("employeeCode\nASC\n\n+EMP001")));
+        assertThrows(ValidationException.class, () -> ResultCursor.decode(raw("jobTitle\nASC\n" + ID + "\n+x")));
+        assertThrows(ValidationException.class, () -> ResultCursor.decode(raw("createdAt\nASC\n" + ID + "\n+yesterday")));
+    }
+
+    private static String raw(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
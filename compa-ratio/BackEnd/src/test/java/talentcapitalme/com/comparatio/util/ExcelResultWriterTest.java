@@ -0,0 +1,83 @@
+package talentcapitalme.com.comparatio.util;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import talentcapitalme.com.comparatio.dto.BulkRowResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A finished export is a complete workbook; an export that failed part way must not look like one.
+ */
+class ExcelResultWriterTest {
+
+    @Test
+    void finishedExportIsReadable() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelResultWriter.write(List.of(result("EMP001"), result("EMP002")), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Compensation Results");
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals("EMP002", sheet.getRow(2).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void failedExportIsNotAValidWorkbook() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Iterable<BulkRowResult> failing = () -> new Iterator<>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public BulkRowResult next() {
+                if (produced++ == 3) {
+                    throw new IllegalStateException("result source failed");
+                }
+                return result("EMP00" + produced);
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> ExcelResultWriter.write(failing, out));
+        assertThrows(Exception.class, () -> new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray())).close());
+    }
+
+    @Test
+    void closedWriterRejectsRows() throws IOException {
+        ExcelResultWriter writer = new ExcelResultWriter(new ByteArrayOutputStream());
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.writeRow(result("EMP001")));
+        assertThrows(IOException.class, writer::finish);
+    }
+
+    private static BulkRowResult result(String employeeCode) {
+        return BulkRowResult.builder()
+                .employeeCode(employeeCode)
+                .employeeName("Employee " + employeeCode)
+                .jobTitle("Engineer")
+                .yearsExperience(3)
+                .performanceRating5(4)
+                .currentSalary(new BigDecimal("9500.00"))
+                .midOfScale(new BigDecimal("10000.00"))
+                .compaRatio(new BigDecimal("95"))
+                .increasePct(new BigDecimal("5.00"))
+                .newSalary(new BigDecimal("9975.00"))
+                .increaseAmount(new BigDecimal("475.00"))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package talentcapitalme.com.comparatio.util;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import talentcapitalme.com.comparatio.config.AppProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test: the streaming FastExcel reader must emit exactly the rows the POI reader emits for the same
+ * workbook. POI also reports rows missing from the sheet as empty rows, which the upload skips; those are ignored.
+ */
+class ExcelRowReaderTest {
+
+    private static final String FILENAME = "employees.xlsx";
+
+    @Test
+    void streamingReaderMatchesPoiReader() throws IOException {
+        byte[] workbook = fixture();
+
+        List<ExcelRowData> poiRows = read(workbook, -1);
+        List<ExcelRowData> streamedRows = read(workbook, 0);
+
+        assertEquals(7, poiRows.size(), "data rows in the fixture");
+        assertEquals(poiRows, streamedRows);
+    }
+
+    @Test
+    void engineIsSelectedByFormatAndSize() {
+        AppProperties properties = new AppProperties();
+        properties.getFileUpload().setStreamingParseThreshold(1000);
+        ExcelRowReader reader = new ExcelRowReader(properties);
+
+        assertTrue(reader.useStreamingParser(FILENAME, 1000));
+        assertFalse(reader.useStreamingParser(FILENAME, 999));
+        assertFalse(reader.useStreamingParser("employees.xls", 5000));
+    }
+
+    private static List<ExcelRowData> read(byte[] workbook, long streamingThreshold) throws IOException {
+        AppProperties properties = new AppProperties();
+        properties.getFileUpload().setStreamingParseThreshold(streamingThreshold);
+        List<ExcelRowData> rows = new ArrayList<>();
+        new ExcelRowReader(properties).read(new ByteArrayInputStream(workbook), FILENAME, workbook.length, row -> {
+            if (!row.isEmpty()) {
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Upload sheet mixing the cell types users send: numeric and text codes, text numbers, fractional amounts,
+     * missing cells, a gap in the rows and a row left blank
+     */
+    private static byte[] fixture() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Employees");
+            row(sheet, 0, "Employee Code", "Employee Name", "Job Title", "Years of Experience",
+                    "Performance Rating", "Current Salary", "Mid of Scale");
+            row(sheet, 1, "EMP001", "Alice Smith", "Engineer", 3, 4, 9500, 10000);
+            row(sheet, 2, 1002, "Bob Jones", "Analyst", 7.0, 5, 12345.67, 11000.5);
+            row(sheet, 3, "EMP003", "Carol White", "Manager", "12", "2", "15000.25", "14000");
+            row(sheet, 4, "EMP004", "Dan Brown", "Designer", 1, 3, 0.1, null);
+            // Row 5 is absent from the sheet
+            row(sheet, 6, "EMP006", "Eve Black", "Lead", null, 1, 20000, 25000);
+            row(sheet, 7, null, null, null, null, null, null, null);
+            row(sheet, 8, "EMP008", " Frank Green ", "Intern", 0, 3, "n/a", 3000);
+            row(sheet, 9, "EMP009", "Grace Hall", "Director", 25, true, 99999.99, 80000);
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void row(Sheet sheet, int index, Object... values) {
+        Row row = sheet.createRow(index);
+        for (int column = 0; column < values.length; column++) {
+            Object value = values[column];
+            if (value instanceof String text) {
+                row.createCell(column).setCellValue(text);
+            } else if (value instanceof Number number) {
+                row.createCell(column).setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean flag) {
+                row.createCell(column).setCellValue(flag);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package talentcapitalme.com.comparatio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test: the fixed-point path must produce exactly the BigDecimal results (value and scale)
+ */
+class FixedPointMoneyTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void compaPercentMatchesDecimalCalculation() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal salary = randomAmount(random);
+            BigDecimal mid = randomAmount(random);
+            assertEquals(FixedPointMoney.compaPercentDecimal(salary, mid), FixedPointMoney.compaPercent(salary, mid),
+                    () -> "compa percent of " + salary + " / " + mid);
+        }
+    }
+
+    @Test
+    void compaRatioMatchesDecimalCalculation() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal salary = randomAmount(random);
+            BigDecimal mid = randomAmount(random);
+            assertEquals(FixedPointMoney.compaRatioDecimal(salary, mid), FixedPointMoney.compaRatio(salary, mid),
+                    () -> "compa ratio of " + salary + " / " + mid);
+        }
+    }
+
+    @Test
+    void newSalaryMatchesDecimalCalculation() {
+        Random random = new Random(2024);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal salary = randomAmount(random);
+            BigDecimal pct = BigDecimal.valueOf(random.nextInt(6001) - 1000, random.nextInt(3)); // -10.00% .. 60.00%
+            assertEquals(FixedPointMoney.newSalaryDecimal(salary, pct), FixedPointMoney.newSalary(salary, pct),
+                    () -> "new salary of " + salary + " + " + pct + "%");
+        }
+    }
+
+    @Test
+    void roundsHalfUpOnExactTies() {
+        // 0.71245 rounds to 0.7125 at 4 decimals, then 71.25 to 71
+        assertEquals(new BigDecimal("71"), FixedPointMoney.compaPercent(new BigDecimal("71245"), new BigDecimal("100000")));
+        // 0.995 -> 0.9950 -> 99.50 rounds up to 100
+        assertEquals(new BigDecimal("100"), FixedPointMoney.compaPercent(new BigDecimal("995"), new BigDecimal("1000")));
+        // 100.05 * 1.05 = 105.0525 -> 105.05; 100.10 * 1.025 = 102.6025 -> 102.60; 10.10 * 1.05 = 10.605 -> 10.61
+        assertEquals(new BigDecimal("105.05"), FixedPointMoney.newSalary(new BigDecimal("100.05"), new BigDecimal("5")));
+        assertEquals(new BigDecimal("102.60"), FixedPointMoney.newSalary(new BigDecimal("100.10"), new BigDecimal("2.5")));
+        assertEquals(new BigDecimal("10.61"), FixedPointMoney.newSalary(new BigDecimal("10.10"), new BigDecimal("5")));
+    }
+
+    @Test
+    void fallsBackForValuesOutsideFixedPointRange() {
+        BigDecimal[][] cases = {
+                {new BigDecimal("50000.125"), new BigDecimal("61000.3333")},  // more than 2 decimals
+                {new BigDecimal("92233720368547758.07"), new BigDecimal("3")}, // overflows the scaled dividend
+                {new BigDecimal("1E+20"), new BigDecimal("1E+19")},           // negative scale, does not fit
+                {new BigDecimal("12345.5"), new BigDecimal("0.01")},          // very small mid
+        };
+        for (BigDecimal[] c : cases) {
+            assertEquals(FixedPointMoney.compaPercentDecimal(c[0], c[1]), FixedPointMoney.compaPercent(c[0], c[1]));
+            assertEquals(FixedPointMoney.compaRatioDecimal(c[0], c[1]), FixedPointMoney.compaRatio(c[0], c[1]));
+            assertEquals(FixedPointMoney.newSalaryDecimal(c[0], new BigDecimal("3.125")),
+                    FixedPointMoney.newSalary(c[0], new BigDecimal("3.125")));
+            assertEquals(FixedPointMoney.newSalaryDecimal(c[0], new BigDecimal("7.5")),
+                    FixedPointMoney.newSalary(c[0], new BigDecimal("7.5")));
+        }
+    }
+
+    @Test
+    void divideHalfUpMatchesRoundingMode() {
+        Random random = new Random(99);
+        for (int i = 0; i < SAMPLES; i++) {
+            long dividend = random.nextLong() >> random.nextInt(63);
+            long divisor = random.nextLong() >> random.nextInt(63);
+            if (divisor == 0 || divisor == Long.MIN_VALUE) {
+                continue;
+            }
+            long expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+            assertEquals(expected, FixedPointMoney.divideHalfUp(dividend, divisor),
+                    () -> dividend + " / " + divisor);
+        }
+    }
+
+    /**
+     * Positive amount with 0-2 decimals, spread over realistic salary magnitudes
+     */
+    private static BigDecimal randomAmount(Random random) {
+        long unscaled = 1 + (long) (Math.pow(10, 1 + random.nextDouble() * 8));
+        return BigDecimal.valueOf(unscaled, random.nextInt(3));
+    }
+}